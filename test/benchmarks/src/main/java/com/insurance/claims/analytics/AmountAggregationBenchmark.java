@@ -0,0 +1,81 @@
+package com.insurance.claims.analytics;
+
+import com.insurance.claims.model.ClaimStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-history amount aggregations over the analytics columns: ten years of claims from 10k users,
+ * amounts drawn from a few hundred distinct values as real claims tend to be
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmountAggregationBenchmark {
+    
+    private static final ClaimStatus[] STATUSES = ClaimStatus.values();
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+    
+    @Param({"1000000"})
+    private int rows;
+    
+    private final ClaimColumns columns = new ClaimColumns();
+    private ForkJoinPool pool;
+    private AmountAggregation aggregation;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < rows; i++) {
+            LocalDate createdOn = FIRST_DAY.plusDays((long) i * 3650 / rows);
+            long cents = 5_000L * (1 + random.nextInt(400));
+            columns.put(i + 1, 1 + random.nextInt(10_000), cents, createdOn, STATUSES[random.nextInt(STATUSES.length)], 0);
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        aggregation = new AmountAggregation(pool);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    @Benchmark
+    public AmountGroups byStatus() {
+        return aggregation.aggregate(columns, GroupBy.STATUS, Integer.MIN_VALUE, Integer.MAX_VALUE, null, null);
+    }
+    
+    @Benchmark
+    public AmountGroups byDay() {
+        return aggregation.aggregate(columns, GroupBy.DAY, Integer.MIN_VALUE, Integer.MAX_VALUE, null, null);
+    }
+    
+    @Benchmark
+    public AmountGroups byCohortApproved() {
+        return aggregation.aggregate(columns, GroupBy.COHORT, Integer.MIN_VALUE, Integer.MAX_VALUE, ClaimStatus.APPROVED, null);
+    }
+    
+    @Benchmark
+    public AmountGroups byDayLastMonth() {
+        int to = (int) FIRST_DAY.plusDays(3650).toEpochDay();
+        return aggregation.aggregate(columns, GroupBy.DAY, to - 30, to, null, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.insurance.claims.benchmarks;
+
+import com.insurance.claims.ClaimsProcessingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application without a web server against a fresh embedded H2 seeded with synthetic claims
+ * Seeding happens before the application is ready, so the in-memory read side starts out loaded.
+ */
+final class BenchmarkContext {
+    
+    static final int USERS = 1_000;
+    
+    private BenchmarkContext() {
+    }
+    
+    static ConfigurableApplicationContext start(int claims, String... args) {
+        return new SpringApplicationBuilder(ClaimsProcessingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .listeners(new SeedOnStartup(claims, USERS))
+                .run(args);
+    }
+}
@@ -0,0 +1,78 @@
+package com.insurance.claims.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurance.claims.dto.ClaimPageResponse;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimResponseSerializer;
+import com.insurance.claims.model.ClaimStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of claim listings, configured like the application's ObjectMapper
+ * serializer=reflective maps ClaimResponse through bean introspection, cached uses ClaimResponseSerializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimJsonBenchmark {
+    
+    @Param({"50", "500"})
+    private int size;
+    
+    @Param({"json", "cbor"})
+    private String format;
+    
+    @Param({"reflective", "cached"})
+    private String serializer;
+    
+    private ObjectWriter writer;
+    private ClaimPageResponse page;
+    
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = "cbor".equals(format) ? Jackson2ObjectMapperBuilder.cbor() : Jackson2ObjectMapperBuilder.json();
+        builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("cached".equals(serializer)) {
+            builder.serializerByType(ClaimResponse.class, new ClaimResponseSerializer());
+        }
+        writer = builder.build().writer();
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimResponse> claims = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            claims.add(new ClaimResponse((long) i, String.format("CLM-%013d", i), "Water damage in kitchen, claim " + i,
+                    new BigDecimal("1250.75"), ClaimStatus.values()[i % 4], "John Doe", 1L,
+                    i % 2 == 0 ? "Admin User" : null, i % 2 == 0 ? "Checked against policy" : null,
+                    now.minusMinutes(i), i % 2 == 0 ? now : null, 1L, i % 10, Set.of()));
+        }
+        page = new ClaimPageResponse(claims, "MjAyNC0wMS0wMVQwMDowMHwx", size, true);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
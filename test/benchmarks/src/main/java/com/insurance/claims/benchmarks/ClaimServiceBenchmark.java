@@ -0,0 +1,110 @@
+package com.insurance.claims.benchmarks;
+
+import com.insurance.claims.diagnostics.SyntheticDataSeeder;
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimPageResponse;
+import com.insurance.claims.dto.ClaimRequest;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimReviewRequest;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.service.ClaimService;
+import com.insurance.claims.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClaimService against a pre-seeded embedded H2 with 1k and 100k claims
+ * Runs through the Spring proxies, so transactions and after-commit listeners are included. Reads
+ * are served by the read model, or with readModel=false by the database fallback path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClaimServiceBenchmark {
+    
+    @Param({"1000", "100000"})
+    private int rows;
+    
+    @Param({"true", "false"})
+    private boolean readModel;
+    
+    private ConfigurableApplicationContext context;
+    private ClaimService claimService;
+    private ClaimRequest claimRequest;
+    private ClaimReviewRequest reviewRequest;
+    private String deepCursor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, "--claims.read-model.enabled=" + readModel);
+        claimService = context.getBean(ClaimService.class);
+        UserService userService = context.getBean(UserService.class);
+        
+        Long userId = userService.getUserByUsername("synthetic_1").getId();
+        claimRequest = new ClaimRequest("Benchmark claim", new BigDecimal("250.00"), userId);
+        reviewRequest = new ClaimReviewRequest();
+        reviewRequest.setStatus(ClaimStatus.APPROVED);
+        reviewRequest.setReviewComments("Approved by benchmark");
+        reviewRequest.setAdminId(userService.getUserByUsername("admin").getId());
+        
+        ClaimResponse middle = claimService.getClaimByNumber(SyntheticDataSeeder.syntheticClaimNumber(rows / 2));
+        deepCursor = ClaimCursor.of(middle).encode();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public ClaimResponse createClaim() {
+        return claimService.createClaim(claimRequest);
+    }
+    
+    @Benchmark
+    public ClaimResponse reviewClaim(PendingClaim pending) {
+        return claimService.reviewClaim(pending.id, reviewRequest);
+    }
+    
+    @Benchmark
+    public ClaimPageResponse getAllClaimsFirstPage() {
+        return claimService.getAllClaims(null, null);
+    }
+    
+    @Benchmark
+    public ClaimPageResponse getAllClaimsDeepPage() {
+        return claimService.getAllClaims(deepCursor, null);
+    }
+    
+    /**
+     * A fresh PENDING claim per invocation: a reviewed claim cannot be reviewed into APPROVED again
+     */
+    @State(Scope.Thread)
+    public static class PendingClaim {
+        
+        private Long id;
+        
+        @Setup(Level.Invocation)
+        public void create(ClaimServiceBenchmark benchmark) {
+            id = benchmark.claimService.createClaim(benchmark.claimRequest).getId();
+        }
+    }
+}
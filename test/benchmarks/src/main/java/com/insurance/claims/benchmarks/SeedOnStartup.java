@@ -0,0 +1,39 @@
+package com.insurance.claims.benchmarks;
+
+import com.insurance.claims.diagnostics.SyntheticDataSeeder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds synthetic claims once the context is refreshed and before ApplicationReadyEvent
+ * The read model, statistics, search index and analytics load the claims table when the application
+ * is ready. Seeding after that would leave them empty, and their periodic checks would pull the claims
+ * in partway through a run.
+ */
+public final class SeedOnStartup implements ApplicationListener<ApplicationStartedEvent> {
+    
+    private final int claims;
+    private final int users;
+    private volatile Long firstUserId;
+    
+    public SeedOnStartup(int claims, int users) {
+        this.claims = claims;
+        this.users = users;
+    }
+    
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        firstUserId = new SyntheticDataSeeder(event.getApplicationContext().getBean(JdbcTemplate.class)).seed(claims, users);
+    }
+    
+    /**
+     * Id of the first seeded user; the others follow it
+     */
+    public long firstUserId() {
+        if (firstUserId == null) {
+            throw new IllegalStateException("Application not started yet");
+        }
+        return firstUserId;
+    }
+}
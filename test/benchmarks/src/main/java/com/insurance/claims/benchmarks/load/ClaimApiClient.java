@@ -0,0 +1,79 @@
+package com.insurance.claims.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Minimal blocking client for the claim endpoints the load generator drives
+ * A 429 is thrown as a ShedException and counted as shed; any other non-2xx response is thrown as
+ * an IllegalStateException and counted as an error.
+ */
+final class ClaimApiClient {
+    
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    
+    ClaimApiClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+    
+    Long createClaim(long userId) throws IOException, InterruptedException {
+        String body = String.format("{\"description\":\"Load test claim\",\"claimAmount\":125.50,\"userId\":%d}", userId);
+        JsonNode claim = objectMapper.readTree(send(json("/api/claims").POST(HttpRequest.BodyPublishers.ofString(body))));
+        return claim.get("id").asLong();
+    }
+    
+    void reviewClaim(long claimId, long adminId) throws IOException, InterruptedException {
+        String body = String.format("{\"status\":\"APPROVED\",\"reviewComments\":\"Approved under load\",\"adminId\":%d}", adminId);
+        send(json("/api/claims/" + claimId + "/review").PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+    
+    void listClaims() throws IOException, InterruptedException {
+        send(json("/api/claims?size=50").GET());
+    }
+    
+    void listUserClaims(long userId) throws IOException, InterruptedException {
+        send(json("/api/claims/user/" + userId + "?size=50").GET());
+    }
+    
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+    
+    private byte[] send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 429) {
+            throw new ShedException(response.request().method() + " " + response.uri() + " shed by admission control");
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+    
+    /**
+     * The server turned the request away (429) rather than failing it
+     */
+    static final class ShedException extends RuntimeException {
+        
+        ShedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.insurance.claims.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram plus error and shed counts for one operation; safe for concurrent recording
+ * Values are recorded in microseconds.
+ */
+final class LatencyRecorder {
+    
+    private final String name;
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+    
+    void recordNanos(long nanos) {
+        recorder.recordValue(Math.max(1, nanos / 1_000));
+    }
+    
+    void recordError() {
+        errors.increment();
+    }
+    
+    void recordShed() {
+        shed.increment();
+    }
+    
+    /**
+     * Discards what was recorded so far (end of warm-up)
+     */
+    void reset() {
+        recorder.reset();
+        errors.reset();
+        shed.reset();
+    }
+    
+    static void printHeader(PrintStream out) {
+        out.printf("%-18s %9s %9s %10s %10s %10s %10s %8s %8s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "shed");
+    }
+    
+    void print(PrintStream out, double seconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        out.printf("%-18s %9d %9.1f %10.2f %10.2f %10.2f %10.2f %8d %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000d,
+                histogram.getValueAtPercentile(99) / 1000d,
+                histogram.getValueAtPercentile(99.9) / 1000d,
+                histogram.getMaxValue() / 1000d,
+                errors.sum(),
+                shed.sum());
+    }
+}
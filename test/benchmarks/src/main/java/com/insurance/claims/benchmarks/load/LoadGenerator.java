@@ -0,0 +1,199 @@
+package com.insurance.claims.benchmarks.load;
+
+import com.insurance.claims.ClaimsProcessingApplication;
+import com.insurance.claims.benchmarks.SeedOnStartup;
+import com.insurance.claims.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load generator for the REST and STOMP APIs
+ * Boots the application on a random port against a seeded embedded H2, connects STOMP subscribers
+ * to /topic/user/{id} and drives a weighted mix of claim creation, reviews and listings.
+ * After the warm-up it reports p50/p99/p99.9 per operation (HdrHistogram) and the delivery lag of
+ * review notifications. Reviews always target claims created by this run, so they never conflict.
+ * The generator shares the JVM (and CPUs) with the application it measures.
+ */
+public class LoadGenerator {
+    
+    private final LoadOptions options;
+    private final ClaimApiClient client;
+    private final NotificationSubscribers subscribers;
+    private final long firstUserId;
+    private final long adminId;
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private final Queue<Long> pendingReviews = new ConcurrentLinkedQueue<>();
+    private final Operation[] weightedOperations;
+    
+    LoadGenerator(LoadOptions options, ClaimApiClient client, NotificationSubscribers subscribers,
+                  long firstUserId, long adminId) {
+        this.options = options;
+        this.client = client;
+        this.subscribers = subscribers;
+        this.firstUserId = firstUserId;
+        this.adminId = adminId;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder(operation.label()));
+        }
+        List<Operation> weighted = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        List<String> appArgs = new ArrayList<>(options.appArgs());
+        appArgs.add("--server.port=0");
+        SeedOnStartup seed = new SeedOnStartup(options.seedClaims(), options.users());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ClaimsProcessingApplication.class)
+                .profiles("benchmark")
+                .listeners(seed)
+                .run(appArgs.toArray(new String[0]));
+        try (NotificationSubscribers subscribers = new NotificationSubscribers()) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            long firstUserId = seed.firstUserId();
+            long adminId = context.getBean(UserService.class).getUserByUsername("admin").getId();
+            subscribers.connect(port, options.subscribers(), firstUserId, options.users());
+            
+            new LoadGenerator(options, new ClaimApiClient(port), subscribers, firstUserId, adminId).run(System.out);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+    
+    void run(PrintStream out) throws InterruptedException {
+        out.printf("Mode %s, concurrency %d%s, %d subscribers, mix %s%n", options.mode(), options.concurrency(),
+                options.mode() == LoadOptions.Mode.OPEN ? ", " + options.rate() + " req/s" : "",
+                options.subscribers(), options.mix());
+        if (!options.appArgs().isEmpty()) {
+            out.printf("Application arguments: %s%n", String.join(" ", options.appArgs()));
+        }
+        
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        
+        Thread resetter = new Thread(() -> {
+            LockSupport.parkNanos(measureFromNanos - System.nanoTime());
+            recorders.values().forEach(LatencyRecorder::reset);
+            subscribers.reset();
+        }, "load-warmup-reset");
+        resetter.start();
+        
+        if (options.mode() == LoadOptions.Mode.OPEN) {
+            runOpenLoop(startNanos, endNanos);
+        } else {
+            runClosedLoop(endNanos);
+        }
+        resetter.join();
+        // Let notifications for the last reviews arrive
+        Thread.sleep(1_000);
+        
+        double seconds = options.durationSeconds();
+        LatencyRecorder.printHeader(out);
+        recorders.values().forEach(recorder -> recorder.print(out, seconds));
+        subscribers.reviewLag().print(out, seconds);
+        out.printf("STOMP frames received: %d%n", subscribers.framesReceived());
+    }
+    
+    /**
+     * Requests start on a fixed schedule; latency counts from the scheduled start, so time spent
+     * queued behind slow requests is included (no coordinated omission)
+     */
+    private void runOpenLoop(long startNanos, long endNanos) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        for (long i = 0; ; i++) {
+            long intendedNanos = startNanos + i * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            long wait = intendedNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            workers.execute(() -> timed(intendedNanos));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.err.println("Open loop backlog not drained after 60 s; the server could not sustain the rate");
+            workers.shutdownNow();
+        }
+    }
+    
+    /**
+     * Each worker issues its next request as soon as the previous one completes
+     */
+    private void runClosedLoop(long endNanos) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < options.concurrency(); i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < endNanos) {
+                    timed(System.nanoTime());
+                }
+            }, "load-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+    
+    private void timed(long startNanos) {
+        Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        try {
+            Operation performed = execute(operation);
+            recorders.get(performed).recordNanos(System.nanoTime() - startNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClaimApiClient.ShedException ex) {
+            recorders.get(operation).recordShed();
+        } catch (Exception ex) {
+            recorders.get(operation).recordError();
+        }
+    }
+    
+    /**
+     * Returns the operation actually performed: a review with no claim left to review creates one instead
+     */
+    private Operation execute(Operation operation) throws Exception {
+        switch (operation) {
+            case REVIEW -> {
+                Long claimId = pendingReviews.poll();
+                if (claimId != null) {
+                    client.reviewClaim(claimId, adminId);
+                    return Operation.REVIEW;
+                }
+                pendingReviews.add(client.createClaim(randomUser()));
+                return Operation.CREATE;
+            }
+            case CREATE -> pendingReviews.add(client.createClaim(randomUser()));
+            case LIST -> client.listClaims();
+            case LIST_USER -> client.listUserClaims(randomUser());
+        }
+        return operation;
+    }
+    
+    private long randomUser() {
+        return firstUserId + ThreadLocalRandom.current().nextInt(options.users());
+    }
+}
@@ -0,0 +1,69 @@
+package com.insurance.claims.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load generator settings, parsed from --name=value arguments
+ * mode=closed keeps `concurrency` requests in flight; mode=open issues `rate` requests per second
+ * on a fixed schedule regardless of response times, and measures latency from the scheduled start.
+ * Arguments prefixed with --app. are passed to the application, e.g. --app.claims.threads.mode=virtual.
+ */
+record LoadOptions(Mode mode,
+                   int concurrency,
+                   int rate,
+                   int warmupSeconds,
+                   int durationSeconds,
+                   int seedClaims,
+                   int users,
+                   int subscribers,
+                   Map<Operation, Integer> mix,
+                   List<String> appArgs) {
+    
+    enum Mode {
+        OPEN,
+        CLOSED
+    }
+    
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            if (arg.startsWith("--app.")) {
+                appArgs.add("--" + arg.substring("--app.".length()));
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadOptions(
+                Mode.valueOf(values.getOrDefault("mode", "closed").toUpperCase()),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("seed-claims", "100000")),
+                Integer.parseInt(values.getOrDefault("users", "100")),
+                Integer.parseInt(values.getOrDefault("subscribers", "100")),
+                parseMix(values.getOrDefault("mix", "create=30,review=20,list=30,list-user=20")),
+                appArgs);
+    }
+    
+    /**
+     * Weights per operation, e.g. create=30,review=20,list=30,list-user=20
+     */
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            mix.put(Operation.fromName(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
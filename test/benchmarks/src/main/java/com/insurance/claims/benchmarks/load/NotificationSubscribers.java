@@ -0,0 +1,85 @@
+package com.insurance.claims.benchmarks.load;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * STOMP sessions subscribed to /topic/user/{id}, recording notification delivery lag
+ * Lag is receipt time minus the notification's timestamp, which the server stamps when the
+ * after-commit listener hands it to the dispatcher, i.e. right after the review commits.
+ * Both ends run in the same JVM, so the clocks agree.
+ */
+final class NotificationSubscribers implements AutoCloseable {
+    
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final LatencyRecorder reviewLag = new LatencyRecorder("notify-lag");
+    private final LongAdder frames = new LongAdder();
+    
+    NotificationSubscribers() {
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+    
+    void connect(int port, int count, long firstUserId, int users) throws Exception {
+        String url = "ws://localhost:" + port + "/ws/websocket";
+        for (int i = 0; i < count; i++) {
+            StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {
+            }).get(10, TimeUnit.SECONDS);
+            session.subscribe("/topic/user/" + (firstUserId + i % users), new LagRecordingHandler());
+            sessions.add(session);
+        }
+    }
+    
+    LatencyRecorder reviewLag() {
+        return reviewLag;
+    }
+    
+    long framesReceived() {
+        return frames.sum();
+    }
+    
+    void reset() {
+        reviewLag.reset();
+        frames.reset();
+    }
+    
+    @Override
+    public void close() {
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+    }
+    
+    private final class LagRecordingHandler implements StompFrameHandler {
+        
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+        
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            LocalDateTime received = LocalDateTime.now();
+            frames.increment();
+            Map<?, ?> notification = (Map<?, ?>) payload;
+            Object message = notification.get("message");
+            Object timestamp = notification.get("timestamp");
+            if (message != null && message.toString().contains("status updated") && timestamp != null) {
+                reviewLag.recordNanos(Duration.between(LocalDateTime.parse(timestamp.toString()), received).toNanos());
+            }
+        }
+    }
+}
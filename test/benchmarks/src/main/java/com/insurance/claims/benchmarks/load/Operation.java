@@ -0,0 +1,30 @@
+package com.insurance.claims.benchmarks.load;
+
+/**
+ * Request types the load generator mixes
+ */
+enum Operation {
+    CREATE("create"),
+    REVIEW("review"),
+    LIST("list"),
+    LIST_USER("list-user");
+    
+    private final String label;
+    
+    Operation(String label) {
+        this.label = label;
+    }
+    
+    String label() {
+        return label;
+    }
+    
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+}
@@ -0,0 +1,70 @@
+package com.insurance.claims.risk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring one claim against a full window of the user's recent claims
+ * None of the window's descriptions match the candidate, so the duplicate rule compares every signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskRulesBenchmark {
+    
+    private static final int WINDOW = 32;
+    private static final String DESCRIPTION = "Water damage in kitchen after a pipe burst under the sink, policy POL-2023/12345";
+    
+    private final MinHash minHash = new MinHash(64, 1);
+    private final RiskRule nearDuplicate = new NearDuplicateRule(0.8);
+    private final RiskRule velocity = new VelocityRule(5, 20);
+    private final RiskRule amountSpike = new AmountSpikeRule(5.0);
+    
+    private UserClaimWindow history;
+    private ClaimSample candidate;
+    
+    @Setup
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        history = UserClaimWindow.EMPTY;
+        for (int i = 0; i < WINDOW; i++) {
+            ClaimSample sample = new ClaimSample((long) i, now - (WINDOW - i) * 60_000L, 10_000 + i,
+                    minHash.signature("Roof tiles blown off in storm number " + i + ", gutter damaged"));
+            history = history.append(sample, 0, 0, WINDOW);
+        }
+        candidate = new ClaimSample(null, now, 12_500, minHash.signature(DESCRIPTION));
+    }
+    
+    @Benchmark
+    public int[] signature() {
+        return minHash.signature(DESCRIPTION);
+    }
+    
+    @Benchmark
+    public int nearDuplicate() {
+        return nearDuplicate.score(candidate, history);
+    }
+    
+    @Benchmark
+    public int velocity() {
+        return velocity.score(candidate, history);
+    }
+    
+    @Benchmark
+    public int amountSpike() {
+        return amountSpike.score(candidate, history);
+    }
+}
@@ -0,0 +1,74 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.Claim;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.RiskFlag;
+import com.insurance.claims.model.User;
+import com.insurance.claims.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and claim number generation, without Spring or a database
+ * Lives in the service package to reach the package-private ClaimService.convertToResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimMappingBenchmark {
+    
+    private ClaimService claimService;
+    private SnowflakeClaimNumberGenerator claimNumberGenerator;
+    private Claim claim;
+    
+    @Setup
+    public void setUp() {
+        // convertToResponse touches none of the collaborators
+        claimService = new ClaimService(null, null, null, null, null, null, null);
+        claimNumberGenerator = new SnowflakeClaimNumberGenerator(0);
+        
+        User owner = new User(1L, "john_doe", "john@example.com", "John Doe", UserRole.USER, LocalDateTime.now());
+        User admin = new User(3L, "admin", "admin@example.com", "Admin User", UserRole.ADMIN, LocalDateTime.now());
+        claim = new Claim();
+        claim.setId(42L);
+        claim.setClaimNumber(claimNumberGenerator.nextClaimNumber());
+        claim.setDescription("Water damage in kitchen");
+        claim.setClaimAmount(new BigDecimal("1250.75"));
+        claim.setStatus(ClaimStatus.APPROVED);
+        claim.setUser(owner);
+        claim.setReviewedBy(admin);
+        claim.setReviewComments("Checked against policy");
+        claim.setCreatedAt(LocalDateTime.now().minusDays(1));
+        claim.setReviewedAt(LocalDateTime.now());
+        claim.setVersion(2L);
+        claim.setRiskScore(0);
+        claim.setRiskFlags(EnumSet.noneOf(RiskFlag.class));
+    }
+    
+    @Benchmark
+    public ClaimResponse convertToResponse() {
+        return claimService.convertToResponse(claim);
+    }
+    
+    @Benchmark
+    public String nextClaimNumber() {
+        return claimNumberGenerator.nextClaimNumber();
+    }
+}
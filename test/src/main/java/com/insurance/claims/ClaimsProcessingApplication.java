@@ -2,14 +2,20 @@ package com.insurance.claims;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Application Class for Claims Processing System
  * Uses Spring Boot 3.0 and Java 17
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableCaching
+@EnableScheduling
 public class ClaimsProcessingApplication {
-
+    
     public static void main(String[] args) {
         SpringApplication.run(ClaimsProcessingApplication.class, args);
         System.out.println("==============================================");
@@ -0,0 +1,119 @@
+package com.insurance.claims.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency (gradient style)
+ * Latency is averaged over windows of at least 100 ms. A long-term average over the last several
+ * hundred windows (about a minute) serves as the no-load baseline, and each window compares it
+ * with its own average: while latency stays within tolerance of the baseline the limit grows by
+ * about its square root, and as latency climbs past it the limit shrinks in proportion, at most by
+ * half per window. Changes are smoothed and only grown while at least half the limit was in use,
+ * so an idle service does not inflate it.
+ * Admission is a CAS on the in-flight count. Samples are folded in under a tryLock; a sample
+ * arriving while another is being applied is dropped rather than waited for.
+ */
+public final class AdaptiveConcurrencyLimit {
+    
+    private static final double SMOOTHING = 0.2;
+    private static final long WINDOW_NANOS = 100_000_000;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_WINDOWS = 600;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile int limit;
+    
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private double longRtt;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max and tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = limit;
+    }
+    
+    /**
+     * Never blocks; a caller that gets true must call release once done
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * @param rttNanos time the request held its slot; negative to release without sampling
+     */
+    public void release(long rttNanos) {
+        int held = inFlight.getAndDecrement();
+        if (rttNanos >= 0 && updateLock.tryLock()) {
+            try {
+                update(rttNanos, held);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+    
+    private void update(long rttNanos, int held) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, held);
+        long now = System.nanoTime();
+        if (now - windowStart < WINDOW_NANOS || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt += (shortRtt - longRtt) / LONG_WINDOWS;
+        // A baseline left far above current latency (e.g. after a slow spell) is pulled down faster
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        if (gradient == 1.0 && maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.insurance.claims.admission;
+
+import com.insurance.claims.controller.ClaimController;
+import com.insurance.claims.dto.ClaimBatchReviewRequest;
+import com.insurance.claims.dto.ClaimRequest;
+import com.insurance.claims.dto.ClaimReviewRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Rate limits the submitting user or reviewing admin of a claim request as soon as its body is
+ * read, before validation and before the handler touches the database
+ */
+@ControllerAdvice(assignableTypes = ClaimController.class)
+@RequiredArgsConstructor
+public class AdmissionBodyAdvice extends RequestBodyAdviceAdapter {
+    
+    private final AdmissionControl admissionControl;
+    
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == ClaimRequest.class || targetType == ClaimReviewRequest.class
+                || targetType == ClaimBatchReviewRequest.class;
+    }
+    
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof ClaimRequest request) {
+            admissionControl.checkUser(request.getUserId());
+        } else if (body instanceof ClaimReviewRequest request) {
+            admissionControl.checkUser(request.getAdminId());
+        } else if (body instanceof ClaimBatchReviewRequest request) {
+            admissionControl.checkUser(request.getAdminId());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,84 @@
+package com.insurance.claims.admission;
+
+import com.insurance.claims.config.AdmissionProperties;
+import com.insurance.claims.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sheds claim requests before they reach the services
+ * - per user: a token bucket per calling user or admin, so one client cannot take everyone's share
+ * - overall: an adaptive limit on claim requests in progress, which shrinks as latency rises
+ * Rejections are thrown as TooManyRequestsException (429 with Retry-After) without waiting.
+ */
+@Component
+public class AdmissionControl {
+    
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final StripedTokenBuckets userBuckets;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter userRejected;
+    private final Counter concurrencyRejected;
+    
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.retryAfter = properties.getRetryAfter();
+        this.userBuckets = new StripedTokenBuckets(properties.getUserRate(), properties.getUserBurst(), properties.getUserStripes());
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getLatencyTolerance());
+        this.userRejected = Counter.builder("claims.admission.rejected")
+                .description("Claim requests shed before processing")
+                .tag("reason", "user-rate")
+                .register(meterRegistry);
+        this.concurrencyRejected = Counter.builder("claims.admission.rejected")
+                .description("Claim requests shed before processing")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        Gauge.builder("claims.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Claim requests currently allowed in progress")
+                .register(meterRegistry);
+        Gauge.builder("claims.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Claim requests in progress")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Takes one of the user's tokens; null ids (left to validation) are not limited
+     */
+    public void checkUser(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        long waitNanos = userBuckets.tryAcquire(userId);
+        if (waitNanos > 0) {
+            userRejected.increment();
+            throw new TooManyRequestsException("Too many claim requests for user " + userId, Duration.ofNanos(waitNanos));
+        }
+    }
+    
+    /**
+     * @return true if a slot was taken, which must be given back through exit
+     */
+    public boolean enter() {
+        if (!enabled) {
+            return false;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyRejected.increment();
+            throw new TooManyRequestsException("Too many claim requests in progress", retryAfter);
+        }
+        return true;
+    }
+    
+    /**
+     * @param latencyNanos time the request took; negative when it should not count as a sample
+     */
+    public void exit(long latencyNanos) {
+        concurrencyLimit.release(latencyNanos);
+    }
+}
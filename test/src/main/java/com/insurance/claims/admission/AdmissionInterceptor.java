@@ -0,0 +1,73 @@
+package com.insurance.claims.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Applies admission control before the handler runs (and before its body is read)
+ * Users named in the path or query (userId) are rate limited here; users named in request bodies
+ * are limited by AdmissionBodyAdvice once the body is read. The overall limit is checked first, so
+ * requests it sheds do not spend the user's tokens; a slot taken by a request the user check then
+ * sheds is given back at once, as afterCompletion only runs for requests that pass preHandle.
+ */
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements HandlerInterceptor {
+    
+    private static final String STARTED_AT = AdmissionInterceptor.class.getName() + ".startedAt";
+    
+    private final AdmissionControl admissionControl;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        boolean entered = admissionControl.enter();
+        try {
+            admissionControl.checkUser(userIdOf(request));
+        } catch (RuntimeException ex) {
+            if (entered) {
+                admissionControl.exit(-1);
+            }
+            throw ex;
+        }
+        if (entered) {
+            request.setAttribute(STARTED_AT, System.nanoTime());
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_AT) instanceof Long startedAt) {
+            // Requests shed by the body check finish at once and would drag the latency baseline down
+            boolean shed = response.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value();
+            admissionControl.exit(shed ? -1 : System.nanoTime() - startedAt);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Long userIdOf(HttpServletRequest request) {
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String userId = pathVariables != null ? pathVariables.get("userId") : null;
+        if (userId == null) {
+            userId = request.getParameter("userId");
+        }
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException ex) {
+            // Left to parameter binding to reject
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.insurance.claims.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-key rate limiting over a fixed array of token buckets, updated with CAS only
+ * Keys are hashed onto a power-of-two number of stripes, so memory stays bounded however many
+ * users call; keys sharing a stripe share its budget. Each bucket is a single long holding its
+ * theoretical arrival time (GCRA): a request is admitted while that time is at most burst - 1
+ * intervals ahead of now, and moves it one interval further. Buckets sit a cache line apart.
+ */
+public final class StripedTokenBuckets {
+    
+    // Longs per cache line; only the first of each group is used
+    private static final int STRIDE = 8;
+    
+    private final AtomicLongArray arrivals;
+    private final int shift;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long origin = System.nanoTime();
+    
+    /**
+     * @param ratePerSecond sustained requests per second allowed per key
+     * @param burst         requests a key may make at once after being idle
+     * @param stripes       rounded up to a power of two
+     */
+    public StripedTokenBuckets(double ratePerSecond, int burst, int stripes) {
+        if (ratePerSecond <= 0 || burst < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Rate, burst and stripes must be positive");
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(stripes - 1, 1));
+        this.arrivals = new AtomicLongArray((1 << bits) * STRIDE);
+        this.shift = 64 - bits;
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+    
+    /**
+     * Takes a token for the key
+     * @return 0 when admitted, otherwise the nanoseconds until the key's next token
+     */
+    public long tryAcquire(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) * STRIDE;
+        // Relative to construction, so never below the initial arrival time of 0
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long stored = arrivals.get(slot);
+            long arrival = Math.max(stored, now);
+            long ahead = arrival - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (arrivals.compareAndSet(slot, stored, arrival + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.insurance.claims.analytics;
+
+import com.insurance.claims.model.ClaimStatus;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Count, sum and exact p95 of claim amounts per group over ClaimColumns, in three fork/join phases:
+ * - scan: each segment is filtered on its own, noting the group of every matching row and summing
+ *   counts and cents per group; segments entirely outside the day range are skipped
+ * - gather: the matching amounts are copied into one array ordered by group, each segment into
+ *   ranges reserved for it, so the copies need no coordination
+ * - select: the p95 of each group is picked in place within its range (quickselect)
+ * The scan loops read primitive columns front to back with no boxing or per-row allocation.
+ */
+public final class AmountAggregation {
+    
+    private static final int STATUS_COUNT = ClaimStatus.values().length;
+    
+    private final ForkJoinPool pool;
+    
+    public AmountAggregation(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * @param fromDay first epoch day included
+     * @param toDay   first epoch day excluded
+     * @param status  null for every status
+     * @param userId  null for every user
+     */
+    public AmountGroups aggregate(ClaimColumns columns, GroupBy groupBy, int fromDay, int toDay,
+                                  ClaimStatus status, Long userId) {
+        Segment[] segments = columns.segments();
+        int[] sizes = new int[segments.length];
+        for (int s = 0; s < segments.length; s++) {
+            sizes[s] = segments[s].size;
+        }
+        // Read after the sizes, so the ranges and cohorts cover every row the scan will see
+        int[] dayRange = columns.dayRange();
+        int[] cohorts = groupBy == GroupBy.COHORT ? columns.cohorts() : null;
+        if (dayRange == null) {
+            return AmountGroups.empty(groupBy);
+        }
+        int[] cohortRange = cohorts != null ? range(cohorts) : null;
+        int from = Math.max(fromDay, dayRange[0]);
+        int to = Math.min(toDay, dayRange[1] + 1);
+        if (from >= to) {
+            return AmountGroups.empty(groupBy);
+        }
+        int base = switch (groupBy) {
+            case STATUS -> 0;
+            case DAY -> from;
+            case COHORT -> cohortRange[0];
+        };
+        int groups = switch (groupBy) {
+            case STATUS -> STATUS_COUNT;
+            case DAY -> to - from;
+            case COHORT -> cohortRange[1] - cohortRange[0] + 1;
+        };
+        Filter filter = new Filter(groupBy, base, groups, from, to,
+                status == null ? -1 : 1 << status.ordinal(), userId == null, userId == null ? 0 : userId, cohorts);
+        
+        Scan[] scans = new Scan[segments.length];
+        forEach(segments.length, s -> scans[s] = scan(segments[s], sizes[s], filter));
+        
+        long[] counts = new long[groups];
+        long[] cents = new long[groups];
+        long scannedRows = 0;
+        for (Scan scan : scans) {
+            if (scan != null) {
+                scannedRows += scan.rowGroups.length;
+                for (int g = 0; g < groups; g++) {
+                    counts[g] += scan.counts[g];
+                    cents[g] += scan.cents[g];
+                }
+            }
+        }
+        int[] offsets = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            offsets[g + 1] = Math.toIntExact(offsets[g] + counts[g]);
+        }
+        // Each segment's write position per group: after the rows of the segments before it
+        int[][] starts = new int[segments.length][];
+        int[] next = offsets.clone();
+        for (int s = 0; s < segments.length; s++) {
+            if (scans[s] != null) {
+                starts[s] = next.clone();
+                for (int g = 0; g < groups; g++) {
+                    next[g] += (int) scans[s].counts[g];
+                }
+            }
+        }
+        long[] values = new long[offsets[groups]];
+        forEach(segments.length, s -> gather(segments[s], scans[s], starts[s], values));
+        
+        long[] p95 = new long[groups];
+        forEach(groups, g -> {
+            int count = offsets[g + 1] - offsets[g];
+            if (count > 0) {
+                // Nearest rank: the smallest amount at least 95% of the group is at or below
+                int rank = (int) ((95L * count + 99) / 100);
+                p95[g] = select(values, offsets[g], offsets[g + 1], offsets[g] + rank - 1);
+            }
+        });
+        return new AmountGroups(groupBy, base, counts, cents, p95, scannedRows);
+    }
+    
+    private static Scan scan(Segment segment, int size, Filter filter) {
+        if (size == 0 || !segment.overlaps(filter.fromDay, filter.toDay)) {
+            return null;
+        }
+        long[] counts = new long[filter.groups];
+        long[] cents = new long[filter.groups];
+        int[] rowGroups = new int[size];
+        long[] amounts = segment.cents;
+        int[] days = segment.days;
+        byte[] statuses = segment.statuses;
+        long[] userIds = segment.userIds;
+        int[] users = segment.users;
+        int[] cohorts = filter.cohorts;
+        boolean byStatus = filter.groupBy == GroupBy.STATUS;
+        boolean byCohort = filter.groupBy == GroupBy.COHORT;
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            // Read once: a concurrent review must not move the row between filter and group
+            int status = statuses[i];
+            int group = -1;
+            if (day >= filter.fromDay && day < filter.toDay && (filter.statusMask >>> status & 1) != 0
+                    && (filter.anyUser || userIds[i] == filter.userId)) {
+                group = (byStatus ? status : byCohort ? cohorts[users[i]] : day) - filter.base;
+                counts[group]++;
+                cents[group] += amounts[i];
+            }
+            rowGroups[i] = group;
+        }
+        return new Scan(rowGroups, counts, cents);
+    }
+    
+    private static void gather(Segment segment, Scan scan, int[] positions, long[] values) {
+        if (scan == null) {
+            return;
+        }
+        long[] amounts = segment.cents;
+        int[] rowGroups = scan.rowGroups;
+        for (int i = 0; i < rowGroups.length; i++) {
+            int group = rowGroups[i];
+            if (group >= 0) {
+                values[positions[group]++] = amounts[i];
+            }
+        }
+    }
+    
+    /**
+     * Value that would be at index k if values[from, to) were sorted; reorders the range.
+     * Three-way partitioning keeps runs of equal amounts, which are common, from degrading it.
+     */
+    static long select(long[] values, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            long pivot = medianOfThree(values[lo], values[(lo + hi) >>> 1], values[hi]);
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (values[i] < pivot) {
+                    swap(values, lt++, i++);
+                } else if (values[i] > pivot) {
+                    swap(values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
+        return values[k];
+    }
+    
+    private static int[] range(int[] values) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new int[] {min, max};
+    }
+    
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+    
+    private static void swap(long[] values, int i, int j) {
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+    
+    private void forEach(int count, IntConsumer body) {
+        if (count > 0) {
+            pool.invoke(new RangeTask(0, count, body));
+        }
+    }
+    
+    private record Filter(GroupBy groupBy, int base, int groups, int fromDay, int toDay,
+                          int statusMask, boolean anyUser, long userId, int[] cohorts) {
+    }
+    
+    private record Scan(int[] rowGroups, long[] counts, long[] cents) {
+    }
+    
+    /**
+     * Splits [from, to) in halves down to single indexes
+     */
+    private static final class RangeTask extends RecursiveAction {
+        
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+        
+        private RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+        }
+    }
+}
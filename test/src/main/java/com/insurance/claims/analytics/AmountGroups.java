@@ -0,0 +1,18 @@
+package com.insurance.claims.analytics;
+
+/**
+ * Result of an amount aggregation, one entry per group index; empty groups have count 0
+ * Group index g stands for status ordinal g, epoch day base + g or cohort month base + g.
+ *
+ * @param scannedRows rows read by the scan, after skipping segments outside the day range
+ */
+public record AmountGroups(GroupBy groupBy, int base, long[] counts, long[] cents, long[] p95Cents, long scannedRows) {
+    
+    public int size() {
+        return counts.length;
+    }
+    
+    static AmountGroups empty(GroupBy groupBy) {
+        return new AmountGroups(groupBy, 0, new long[0], new long[0], new long[0], 0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.insurance.claims.analytics;
+
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.search.LongIntMap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claims mirrored into primitive columns for analytics scans
+ * Amounts are held as cents, the creation date as epoch day, the status as its ordinal and the
+ * user as a dense index. Each user's cohort, the month of their earliest claim (months since
+ * 1970-01), is kept per user and moves earlier when an older claim arrives, so it does not depend
+ * on the order claims are loaded in; queries map users to cohorts when they run. Rows are appended
+ * in segments of SEGMENT_SIZE; writers are serialized by a lock, scans read without one.
+ * After a row is appended only its status changes, and only to a newer version of the claim; a
+ * scan running alongside a review counts the claim under either status.
+ */
+public final class ClaimColumns {
+    
+    public static final int SEGMENT_SIZE = 1 << 16;
+    
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final LongIntMap rowByClaim = new LongIntMap(SEGMENT_SIZE);
+    private final LongIntMap indexByUser = new LongIntMap(1024);
+    private volatile Segment[] segments = new Segment[0];
+    private volatile int[] userCohorts = new int[1024];
+    // Written after userCohorts, so a reader that reads it first gets an array holding every user counted
+    private volatile int userCount;
+    
+    /**
+     * Appends the claim, or updates its status if it is already held at an older version
+     */
+    public void put(long claimId, long userId, long cents, LocalDate createdOn, ClaimStatus status, long version) {
+        writeLock.lock();
+        try {
+            int row = rowByClaim.get(claimId);
+            if (row >= 0) {
+                Segment segment = segments[row / SEGMENT_SIZE];
+                int offset = row % SEGMENT_SIZE;
+                if (version > segment.versions[offset]) {
+                    segment.versions[offset] = (int) version;
+                    segment.statuses[offset] = (byte) status.ordinal();
+                }
+                return;
+            }
+            int day = (int) createdOn.toEpochDay();
+            int user = userIndex(userId, monthOf(createdOn));
+            Segment segment = writableSegment();
+            int offset = segment.size;
+            segment.cents[offset] = cents;
+            segment.days[offset] = day;
+            segment.statuses[offset] = (byte) status.ordinal();
+            segment.userIds[offset] = userId;
+            segment.users[offset] = user;
+            segment.versions[offset] = (int) version;
+            segment.minDay = Math.min(segment.minDay, day);
+            segment.maxDay = Math.max(segment.maxDay, day);
+            // Publishes the row to scans
+            segment.size = offset + 1;
+            rowByClaim.put(claimId, (segments.length - 1) * SEGMENT_SIZE + offset);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+    
+    Segment[] segments() {
+        return segments;
+    }
+    
+    /**
+     * Day range of the rows held: [first, last], or null when empty
+     */
+    int[] dayRange() {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Segment segment : segments) {
+            min = Math.min(min, segment.minDay);
+            max = Math.max(max, segment.maxDay);
+        }
+        return min <= max ? new int[] {min, max} : null;
+    }
+    
+    /**
+     * Cohort of every user held, by the index in Segment.users; a copy, so one query sees each
+     * user in a single cohort while older claims keep arriving
+     */
+    int[] cohorts() {
+        int count = userCount;
+        return Arrays.copyOf(userCohorts, count);
+    }
+    
+    static int monthOf(LocalDate date) {
+        return (date.getYear() - 1970) * 12 + date.getMonthValue() - 1;
+    }
+    
+    /**
+     * Index of the user, added on first sight; lowers the user's cohort to the given month if earlier
+     */
+    private int userIndex(long userId, int month) {
+        int user = indexByUser.get(userId);
+        if (user >= 0) {
+            if (month < userCohorts[user]) {
+                userCohorts[user] = month;
+            }
+            return user;
+        }
+        user = userCount;
+        if (user == userCohorts.length) {
+            userCohorts = Arrays.copyOf(userCohorts, user * 2);
+        }
+        userCohorts[user] = month;
+        indexByUser.put(userId, user);
+        userCount = user + 1;
+        return user;
+    }
+    
+    private Segment writableSegment() {
+        Segment[] current = segments;
+        if (current.length > 0 && !current[current.length - 1].isFull()) {
+            return current[current.length - 1];
+        }
+        Segment[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = new Segment(SEGMENT_SIZE);
+        segments = grown;
+        return grown[current.length];
+    }
+}
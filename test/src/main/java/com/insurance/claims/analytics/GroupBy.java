@@ -0,0 +1,10 @@
+package com.insurance.claims.analytics;
+
+/**
+ * Dimension claim amounts are aggregated over
+ */
+public enum GroupBy {
+    STATUS,  // Current claim status
+    DAY,     // Creation date
+    COHORT   // Month of the user's first claim
+}
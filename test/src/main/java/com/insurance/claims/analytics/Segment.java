@@ -0,0 +1,37 @@
+package com.insurance.claims.analytics;
+
+/**
+ * Fixed-capacity block of claim rows, one primitive array per column
+ * The arrays are allocated up front and never replaced. A row is written before size is raised
+ * past it, so a reader that reads size first sees complete rows up to it.
+ */
+final class Segment {
+    
+    final long[] cents;
+    final int[] days;
+    final byte[] statuses;
+    final long[] userIds;
+    // Index of the row's user in ClaimColumns.cohorts()
+    final int[] users;
+    final int[] versions;
+    volatile int size;
+    volatile int minDay = Integer.MAX_VALUE;
+    volatile int maxDay = Integer.MIN_VALUE;
+    
+    Segment(int capacity) {
+        cents = new long[capacity];
+        days = new int[capacity];
+        statuses = new byte[capacity];
+        userIds = new long[capacity];
+        users = new int[capacity];
+        versions = new int[capacity];
+    }
+    
+    boolean isFull() {
+        return size == cents.length;
+    }
+    
+    boolean overlaps(int fromDay, int toDay) {
+        return minDay < toDay && maxDay >= fromDay;
+    }
+}
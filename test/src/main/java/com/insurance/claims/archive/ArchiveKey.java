@@ -0,0 +1,7 @@
+package com.insurance.claims.archive;
+
+/**
+ * Listing position of an archived claim: createdAt in microseconds, id and the segment holding it
+ */
+record ArchiveKey(long createdAtMicros, long id, ArchiveSegment segment) {
+}
@@ -0,0 +1,310 @@
+package com.insurance.claims.archive;
+
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimStatsRow;
+import com.insurance.claims.model.ClaimStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One archived segment file, memory-mapped read-only
+ * Layout:
+ *   blocks       up to BLOCK_CLAIMS claims each, in id order, deflate-compressed (ClaimRecordCodec)
+ *   block index  per block: first and last id, offset, lengths, count and the lowest and highest
+ *                claim number; the sparse index for lookups, read onto the heap when opened
+ *   by time      one key per claim (createdAt micros, id, user id, status), newest first
+ *   by user      the same keys ordered by user, then newest first
+ *   totals       claim count and cents per (user, status)
+ *   trailer      section offsets and counts, format version and magic number
+ * Key sections are read in place, so a listing touches only the pages it scans and decompresses
+ * only the blocks holding the claims it returns. Claim numbers are k-sortable, so the blocks' number
+ * ranges barely overlap and a lookup by number usually decompresses a single block.
+ */
+public final class ArchiveSegment {
+    
+    static final int BLOCK_CLAIMS = 64;
+    static final int STATUS_COUNT = ClaimStatus.values().length;
+    static final int FORMAT_VERSION = 1;
+    static final int MAGIC = 0x434C4D41;
+    
+    private static final ClaimStatus[] STATUSES = ClaimStatus.values();
+    private static final int KEY_BYTES = 25;
+    private static final int TOTALS_BYTES = 25;
+    private static final int TRAILER_BYTES = 52;
+    
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long[] firstIds;
+    private final long[] lastIds;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final int[] counts;
+    private final String[] minClaimNumbers;
+    private final String[] maxClaimNumbers;
+    private final int byTimeOffset;
+    private final int byUserOffset;
+    private final int totalsOffset;
+    private final int totalsRows;
+    private final int size;
+    private final long[] statusCounts = new long[STATUS_COUNT];
+    
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        int trailer = buffer.capacity() - TRAILER_BYTES;
+        if (trailer < 0 || buffer.getInt(trailer + 48) != MAGIC) {
+            throw new IOException("Not an archive segment: " + file);
+        }
+        if (buffer.getInt(trailer + 44) != FORMAT_VERSION) {
+            throw new IOException("Unsupported archive segment version " + buffer.getInt(trailer + 44) + ": " + file);
+        }
+        int blockIndexOffset = (int) buffer.getLong(trailer);
+        int blocks = buffer.getInt(trailer + 8);
+        this.byTimeOffset = (int) buffer.getLong(trailer + 12);
+        this.byUserOffset = (int) buffer.getLong(trailer + 20);
+        this.totalsOffset = (int) buffer.getLong(trailer + 28);
+        this.totalsRows = buffer.getInt(trailer + 36);
+        this.size = buffer.getInt(trailer + 40);
+        
+        firstIds = new long[blocks];
+        lastIds = new long[blocks];
+        offsets = new int[blocks];
+        lengths = new int[blocks];
+        rawLengths = new int[blocks];
+        counts = new int[blocks];
+        minClaimNumbers = new String[blocks];
+        maxClaimNumbers = new String[blocks];
+        byte[] index = new byte[byTimeOffset - blockIndexOffset];
+        buffer.get(blockIndexOffset, index);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(index));
+        for (int block = 0; block < blocks; block++) {
+            firstIds[block] = in.readLong();
+            lastIds[block] = in.readLong();
+            offsets[block] = (int) in.readLong();
+            lengths[block] = in.readInt();
+            rawLengths[block] = in.readInt();
+            counts[block] = in.readInt();
+            minClaimNumbers[block] = in.readUTF();
+            maxClaimNumbers[block] = in.readUTF();
+        }
+        for (int row = 0; row < totalsRows; row++) {
+            int at = totalsOffset + row * TOTALS_BYTES;
+            statusCounts[buffer.get(at + 8)] += buffer.getLong(at + 9);
+        }
+    }
+    
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            return new ArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    public ClaimResponse get(long id) {
+        int block = blockOf(id);
+        return block >= 0 ? find(readBlock(block), id) : null;
+    }
+    
+    public ClaimResponse getByClaimNumber(String claimNumber) {
+        for (int block = 0; block < firstIds.length; block++) {
+            if (claimNumber.compareTo(minClaimNumbers[block]) >= 0 && claimNumber.compareTo(maxClaimNumbers[block]) <= 0) {
+                for (ClaimResponse claim : readBlock(block)) {
+                    if (claim.getClaimNumber().equals(claimNumber)) {
+                        return claim;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Claims held here among the given ids (sorted ascending), decompressing each block once
+     */
+    public void findAll(long[] sortedIds, List<ClaimResponse> found) {
+        int decodedBlock = -1;
+        List<ClaimResponse> decoded = null;
+        for (long id : sortedIds) {
+            int block = blockOf(id);
+            if (block < 0) {
+                continue;
+            }
+            if (block != decodedBlock) {
+                decoded = readBlock(block);
+                decodedBlock = block;
+            }
+            ClaimResponse claim = find(decoded, id);
+            if (claim != null) {
+                found.add(claim);
+            }
+        }
+    }
+    
+    /**
+     * Adds up to limit listing keys after the cursor (null for the first), newest first. With a
+     * user the by-user section is searched; with a status the by-time section is scanned for it.
+     */
+    void collectKeys(ClaimCursor after, Long userId, ClaimStatus status, int limit, List<ArchiveKey> keys) {
+        if (status != null && statusCounts[status.ordinal()] == 0) {
+            return;
+        }
+        int from;
+        int to;
+        if (userId != null) {
+            from = firstKeyOfUser(userId, false);
+            to = firstKeyOfUser(userId, true);
+        } else {
+            from = byTimeOffset;
+            to = byTimeOffset + size * KEY_BYTES;
+        }
+        int key = after != null ? firstKeyAfter(from, to, ClaimRecordCodec.toMicros(after.createdAt()), after.id()) : from;
+        int added = 0;
+        for (; key < to && added < limit; key += KEY_BYTES) {
+            if (status == null || buffer.get(key + 24) == status.ordinal()) {
+                keys.add(new ArchiveKey(buffer.getLong(key), buffer.getLong(key + 8), this));
+                added++;
+            }
+        }
+    }
+    
+    public List<ClaimStatsRow> totals() {
+        List<ClaimStatsRow> rows = new ArrayList<>(totalsRows);
+        for (int row = 0; row < totalsRows; row++) {
+            int at = totalsOffset + row * TOTALS_BYTES;
+            rows.add(new ClaimStatsRow(buffer.getLong(at), STATUSES[buffer.get(at + 8)], buffer.getLong(at + 9),
+                    BigDecimal.valueOf(buffer.getLong(at + 17), 2)));
+        }
+        return rows;
+    }
+    
+    public int blockCount() {
+        return firstIds.length;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * The block's claims in id order, freshly decoded
+     */
+    public List<ClaimResponse> readBlock(int block) {
+        byte[] compressed = new byte[lengths[block]];
+        buffer.get(offsets[block], compressed);
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt block " + block + " in archive segment " + file, ex);
+        } finally {
+            inflater.end();
+        }
+        List<ClaimResponse> claims = new ArrayList<>(counts[block]);
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            for (int i = 0; i < counts[block]; i++) {
+                claims.add(ClaimRecordCodec.read(in));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt block " + block + " in archive segment " + file, ex);
+        }
+        return claims;
+    }
+    
+    /**
+     * Block whose id range holds the id, or -1
+     */
+    private int blockOf(long id) {
+        int low = 0;
+        int high = firstIds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstIds[mid] > id) {
+                high = mid - 1;
+            } else if (lastIds[mid] < id) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    private static ClaimResponse find(List<ClaimResponse> block, long id) {
+        int low = 0;
+        int high = block.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = block.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return block.get(mid);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Offset of the user's first key in the by-user section, or of the next user's when past is set
+     */
+    private int firstKeyOfUser(long userId, boolean past) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long midUser = buffer.getLong(byUserOffset + mid * KEY_BYTES + 16);
+            if (midUser < userId || (past && midUser == userId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return byUserOffset + low * KEY_BYTES;
+    }
+    
+    /**
+     * Offset of the first key in [from, to) that sorts after (micros, id) newest first
+     */
+    private int firstKeyAfter(int from, int to, long micros, long id) {
+        int low = 0;
+        int high = (to - from) / KEY_BYTES;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int at = from + mid * KEY_BYTES;
+            long midMicros = buffer.getLong(at);
+            boolean after = midMicros < micros || (midMicros == micros && buffer.getLong(at + 8) < id);
+            if (after) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return from + low * KEY_BYTES;
+    }
+}
@@ -0,0 +1,155 @@
+package com.insurance.claims.archive;
+
+import com.insurance.claims.dto.ClaimResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable segment file (layout in ArchiveSegment)
+ * The file is written under a temporary name, forced to disk and then renamed into place, so a
+ * segment is either complete or absent.
+ */
+public final class ArchiveSegmentWriter {
+    
+    private static final Comparator<ClaimResponse> NEWEST_FIRST = Comparator
+            .comparing(ClaimResponse::getCreatedAt).reversed()
+            .thenComparing(ClaimResponse::getId, Comparator.reverseOrder());
+    
+    private ArchiveSegmentWriter() {
+    }
+    
+    /**
+     * @param claims the claims to archive, sorted by id
+     */
+    public static void write(Path file, List<ClaimResponse> claims) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            List<BlockEntry> blocks = writeBlocks(out, claims);
+            
+            long blockIndexOffset = out.size();
+            for (BlockEntry block : blocks) {
+                out.writeLong(block.firstId());
+                out.writeLong(block.lastId());
+                out.writeLong(block.offset());
+                out.writeInt(block.length());
+                out.writeInt(block.rawLength());
+                out.writeInt(block.count());
+                out.writeUTF(block.minClaimNumber());
+                out.writeUTF(block.maxClaimNumber());
+            }
+            
+            List<ClaimResponse> byTime = new ArrayList<>(claims);
+            byTime.sort(NEWEST_FIRST);
+            long byTimeOffset = out.size();
+            for (ClaimResponse claim : byTime) {
+                writeKey(out, claim);
+            }
+            byTime.sort(Comparator.comparing(ClaimResponse::getUserId).thenComparing(NEWEST_FIRST));
+            long byUserOffset = out.size();
+            for (ClaimResponse claim : byTime) {
+                writeKey(out, claim);
+            }
+            
+            // Totals per (user, status), so statistics never need to decompress the claims
+            Map<Long, long[]> totals = new TreeMap<>();
+            for (ClaimResponse claim : claims) {
+                long[] row = totals.computeIfAbsent(claim.getUserId(), id -> new long[2 * ArchiveSegment.STATUS_COUNT]);
+                int status = claim.getStatus().ordinal();
+                row[2 * status]++;
+                row[2 * status + 1] += claim.getClaimAmount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            }
+            long statsOffset = out.size();
+            int statsRows = 0;
+            for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+                for (int status = 0; status < ArchiveSegment.STATUS_COUNT; status++) {
+                    if (entry.getValue()[2 * status] > 0) {
+                        out.writeLong(entry.getKey());
+                        out.writeByte(status);
+                        out.writeLong(entry.getValue()[2 * status]);
+                        out.writeLong(entry.getValue()[2 * status + 1]);
+                        statsRows++;
+                    }
+                }
+            }
+            
+            out.writeLong(blockIndexOffset);
+            out.writeInt(blocks.size());
+            out.writeLong(byTimeOffset);
+            out.writeLong(byUserOffset);
+            out.writeLong(statsOffset);
+            out.writeInt(statsRows);
+            out.writeInt(claims.size());
+            out.writeInt(ArchiveSegment.FORMAT_VERSION);
+            out.writeInt(ArchiveSegment.MAGIC);
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private static List<BlockEntry> writeBlocks(DataOutputStream out, List<ClaimResponse> claims) throws IOException {
+        List<BlockEntry> blocks = new ArrayList<>(claims.size() / ArchiveSegment.BLOCK_CLAIMS + 1);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(1 << 16);
+        DataOutputStream records = new DataOutputStream(raw);
+        byte[] compressed = new byte[1 << 16];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (int from = 0; from < claims.size(); from += ArchiveSegment.BLOCK_CLAIMS) {
+                List<ClaimResponse> block = claims.subList(from, Math.min(from + ArchiveSegment.BLOCK_CLAIMS, claims.size()));
+                raw.reset();
+                String minNumber = null;
+                String maxNumber = null;
+                for (ClaimResponse claim : block) {
+                    ClaimRecordCodec.write(records, claim);
+                    String number = claim.getClaimNumber();
+                    minNumber = minNumber == null || number.compareTo(minNumber) < 0 ? number : minNumber;
+                    maxNumber = maxNumber == null || number.compareTo(maxNumber) > 0 ? number : maxNumber;
+                }
+                records.flush();
+                
+                deflater.reset();
+                deflater.setInput(raw.toByteArray());
+                deflater.finish();
+                long offset = out.size();
+                int length = 0;
+                while (!deflater.finished()) {
+                    int written = deflater.deflate(compressed);
+                    out.write(compressed, 0, written);
+                    length += written;
+                }
+                blocks.add(new BlockEntry(block.get(0).getId(), block.get(block.size() - 1).getId(), offset,
+                        length, raw.size(), block.size(), minNumber, maxNumber));
+            }
+        } finally {
+            deflater.end();
+        }
+        return blocks;
+    }
+    
+    private static void writeKey(DataOutputStream out, ClaimResponse claim) throws IOException {
+        out.writeLong(ClaimRecordCodec.toMicros(claim.getCreatedAt()));
+        out.writeLong(claim.getId());
+        out.writeLong(claim.getUserId());
+        out.writeByte(claim.getStatus().ordinal());
+    }
+    
+    private record BlockEntry(long firstId, long lastId, long offset, int length, int rawLength, int count,
+                              String minClaimNumber, String maxClaimNumber) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.insurance.claims.archive;
+
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimStatsRow;
+import com.insurance.claims.model.ClaimStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read side of the claim archive: every segment written so far
+ * The segment list is replaced, never modified, when a segment is added, so reads take no locks.
+ * A claim lives in exactly one segment, except after an interrupted archiving run, which can
+ * leave a claim both here and in the claims table until the next run; lookups through the
+ * table win in that case.
+ */
+public final class ClaimArchive {
+    
+    private static final Comparator<ArchiveKey> NEWEST_FIRST = Comparator
+            .comparingLong(ArchiveKey::createdAtMicros).reversed()
+            .thenComparing(Comparator.comparingLong(ArchiveKey::id).reversed());
+    
+    private volatile List<ArchiveSegment> segments = List.of();
+    
+    public synchronized void add(ArchiveSegment segment) {
+        List<ArchiveSegment> grown = new ArrayList<>(segments);
+        grown.add(segment);
+        segments = List.copyOf(grown);
+    }
+    
+    public ClaimResponse get(long id) {
+        for (ArchiveSegment segment : segments) {
+            ClaimResponse claim = segment.get(id);
+            if (claim != null) {
+                return claim;
+            }
+        }
+        return null;
+    }
+    
+    public ClaimResponse getByClaimNumber(String claimNumber) {
+        for (ArchiveSegment segment : segments) {
+            ClaimResponse claim = segment.getByClaimNumber(claimNumber);
+            if (claim != null) {
+                return claim;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Archived claims among the ids, in no particular order
+     */
+    public List<ClaimResponse> findAll(Collection<Long> ids) {
+        List<ArchiveSegment> current = segments;
+        if (current.isEmpty() || ids.isEmpty()) {
+            return List.of();
+        }
+        long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+        List<ClaimResponse> found = new ArrayList<>();
+        for (ArchiveSegment segment : current) {
+            segment.findAll(sorted, found);
+        }
+        return found;
+    }
+    
+    /**
+     * Up to limit claims after the cursor (null for the first page), newest first, optionally only
+     * the user's or only those in the status
+     */
+    public List<ClaimResponse> page(ClaimCursor after, Long userId, ClaimStatus status, int limit) {
+        List<ArchiveSegment> current = segments;
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        List<ArchiveKey> keys = new ArrayList<>();
+        for (ArchiveSegment segment : current) {
+            segment.collectKeys(after, userId, status, limit, keys);
+        }
+        keys.sort(NEWEST_FIRST);
+        List<ArchiveKey> page = keys.size() > limit ? keys.subList(0, limit) : keys;
+        
+        Map<ArchiveSegment, List<Long>> idsBySegment = new HashMap<>();
+        page.forEach(key -> idsBySegment.computeIfAbsent(key.segment(), segment -> new ArrayList<>()).add(key.id()));
+        Map<Long, ClaimResponse> claims = new HashMap<>();
+        idsBySegment.forEach((segment, ids) -> {
+            List<ClaimResponse> found = new ArrayList<>(ids.size());
+            segment.findAll(ids.stream().mapToLong(Long::longValue).sorted().toArray(), found);
+            found.forEach(claim -> claims.put(claim.getId(), claim));
+        });
+        List<ClaimResponse> result = new ArrayList<>(page.size());
+        for (ArchiveKey key : page) {
+            ClaimResponse claim = claims.get(key.id());
+            if (claim != null) {
+                result.add(claim);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Every archived claim, segment by segment in id order; blocks are decompressed as consumed.
+     * The segments are listed when consumption starts, not when the stream is created.
+     */
+    public Stream<ClaimResponse> stream() {
+        return StreamSupport.stream(() -> segments.spliterator(), Spliterator.ORDERED | Spliterator.NONNULL, false)
+                .flatMap(segment -> IntStream.range(0, segment.blockCount())
+                .mapToObj(segment::readBlock)
+                .flatMap(List::stream));
+    }
+    
+    /**
+     * Count and amount per (user, status), summed over the segments
+     */
+    public List<ClaimStatsRow> aggregateByUserAndStatus() {
+        List<ClaimStatsRow> rows = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            rows.addAll(segment.totals());
+        }
+        return rows;
+    }
+    
+    public long size() {
+        long size = 0;
+        for (ArchiveSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+    
+    public int segmentCount() {
+        return segments.size();
+    }
+}
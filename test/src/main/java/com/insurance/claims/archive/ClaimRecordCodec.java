@@ -0,0 +1,124 @@
+package com.insurance.claims.archive;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.RiskFlag;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Binary form of one archived claim, and the microsecond timestamps used as listing keys
+ * Every ClaimResponse field round-trips exactly; optional fields carry a presence marker.
+ */
+final class ClaimRecordCodec {
+    
+    private static final ClaimStatus[] STATUSES = ClaimStatus.values();
+    private static final RiskFlag[] FLAGS = RiskFlag.values();
+    
+    private ClaimRecordCodec() {
+    }
+    
+    static void write(DataOutput out, ClaimResponse claim) throws IOException {
+        out.writeLong(claim.getId());
+        out.writeUTF(claim.getClaimNumber());
+        out.writeUTF(claim.getDescription());
+        BigDecimal amount = claim.getClaimAmount();
+        out.writeLong(amount.unscaledValue().longValueExact());
+        out.writeByte(amount.scale());
+        out.writeByte(claim.getStatus().ordinal());
+        writeOptional(out, claim.getUserName());
+        out.writeLong(claim.getUserId());
+        writeOptional(out, claim.getReviewedByName());
+        writeOptional(out, claim.getReviewComments());
+        writeTime(out, claim.getCreatedAt());
+        out.writeBoolean(claim.getReviewedAt() != null);
+        if (claim.getReviewedAt() != null) {
+            writeTime(out, claim.getReviewedAt());
+        }
+        out.writeLong(claim.getVersion());
+        out.writeInt(claim.getRiskScore() != null ? claim.getRiskScore() : -1);
+        out.writeInt(flagBits(claim.getRiskFlags()));
+    }
+    
+    static ClaimResponse read(DataInput in) throws IOException {
+        ClaimResponse claim = new ClaimResponse();
+        claim.setId(in.readLong());
+        claim.setClaimNumber(in.readUTF());
+        claim.setDescription(in.readUTF());
+        long unscaled = in.readLong();
+        claim.setClaimAmount(new BigDecimal(BigInteger.valueOf(unscaled), in.readByte()));
+        claim.setStatus(STATUSES[in.readByte()]);
+        claim.setUserName(readOptional(in));
+        claim.setUserId(in.readLong());
+        claim.setReviewedByName(readOptional(in));
+        claim.setReviewComments(readOptional(in));
+        claim.setCreatedAt(readTime(in));
+        claim.setReviewedAt(in.readBoolean() ? readTime(in) : null);
+        claim.setVersion(in.readLong());
+        int riskScore = in.readInt();
+        claim.setRiskScore(riskScore >= 0 ? riskScore : null);
+        claim.setRiskFlags(toFlags(in.readInt()));
+        return claim;
+    }
+    
+    /**
+     * Listing key: microseconds since the epoch, the precision createdAt is stored with
+     */
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+    
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+    
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+    
+    private static void writeOptional(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readOptional(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+    
+    // Null flags (claims never scored) are kept apart from an empty set
+    private static int flagBits(Set<RiskFlag> flags) {
+        if (flags == null) {
+            return -1;
+        }
+        int bits = 0;
+        for (RiskFlag flag : flags) {
+            bits |= 1 << flag.ordinal();
+        }
+        return bits;
+    }
+    
+    private static Set<RiskFlag> toFlags(int bits) {
+        if (bits < 0) {
+            return null;
+        }
+        Set<RiskFlag> flags = EnumSet.noneOf(RiskFlag.class);
+        for (RiskFlag flag : FLAGS) {
+            if ((bits & (1 << flag.ordinal())) != 0) {
+                flags.add(flag);
+            }
+        }
+        return flags;
+    }
+}
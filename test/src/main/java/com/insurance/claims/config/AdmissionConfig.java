@@ -0,0 +1,27 @@
+package com.insurance.claims.config;
+
+import com.insurance.claims.admission.AdmissionControl;
+import com.insurance.claims.admission.AdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Admission control on the claim endpoints (see AdmissionControl)
+ * Export and bulk ingestion are left out: their latency grows with the data moved, not with load,
+ * and would skew the adaptive limit.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionConfig implements WebMvcConfigurer {
+    
+    private final AdmissionControl admissionControl;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl))
+                .addPathPatterns("/api/claims", "/api/claims/**")
+                .excludePathPatterns("/api/claims/export", "/api/claims/batch");
+    }
+}
@@ -0,0 +1,50 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control on the claim endpoints (claims.admission.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.admission")
+public class AdmissionProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Sustained claim requests per second allowed for each user or admin
+     */
+    private double userRate = 50;
+    
+    /**
+     * Requests a user may make at once before the rate applies
+     */
+    private int userBurst = 100;
+    
+    /**
+     * Token buckets users are spread over; users sharing one share its budget
+     */
+    private int userStripes = 4096;
+    
+    /**
+     * Claim requests in progress at once; the limit then follows latency between min and max
+     */
+    private int initialLimit = 50;
+    
+    private int minLimit = 8;
+    
+    private int maxLimit = 500;
+    
+    /**
+     * How far recent latency may rise above its long-term average before the limit shrinks
+     */
+    private double latencyTolerance = 2.0;
+    
+    /**
+     * Retry-After sent when the concurrency limit sheds a request
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
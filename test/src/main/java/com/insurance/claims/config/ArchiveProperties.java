@@ -0,0 +1,36 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Archiving of closed claims into compressed segment files (claims.archive.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.archive")
+public class ArchiveProperties {
+    
+    private boolean enabled = true;
+    
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "claims-archive");
+    
+    /**
+     * Approved and rejected claims are archived once they have been closed this long
+     * (since review, or since creation if never reviewed)
+     */
+    private Duration minAge = Duration.ofDays(30);
+    
+    /**
+     * Claims per segment file; a run writes as many segments as it needs
+     */
+    private int segmentClaims = 50_000;
+    
+    /**
+     * Deletes existing segments at startup. Needed with the in-memory database, whose claims and ids
+     * start over on every run; turn off with a persistent database.
+     */
+    private boolean clearOnStartup = true;
+}
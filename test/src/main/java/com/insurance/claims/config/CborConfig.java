@@ -0,0 +1,42 @@
+package com.insurance.claims.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CBOR (application/cbor) as an alternative to JSON for API requests and responses
+ * Built from Boot's ObjectMapper builder, so it shares the spring.jackson.* settings and the
+ * registered serializers; JSON stays the default when the client accepts either.
+ * One URL thus has two representations: API responses carry Vary: Accept so shared caches keep
+ * them apart, and ETags name the representation (see ResponseMediaTypes). The export picks its
+ * format from a parameter, not from Accept.
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                // Added rather than set, next to the CORS Vary values; also on 304 and error responses
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**").excludePathPatterns("/api/claims/export");
+    }
+}
@@ -0,0 +1,71 @@
+package com.insurance.claims.config;
+
+import com.insurance.claims.metrics.HandlerObservationConvention;
+import com.insurance.claims.metrics.RequestStatementCounter;
+import com.insurance.claims.metrics.RequestStatementMetricsFilter;
+import com.insurance.claims.metrics.WebSocketMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot-path metrics on top of the Actuator defaults
+ * - http.server.requests gets a handler tag (controller.method)
+ * - claims.http.statements: SQL statements per request and route
+ * - WebSocket open session and client channel queue gauges
+ * Hibernate statistics (hibernate.* meters) come from hibernate-micrometer with generate_statistics on.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public HandlerObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention();
+    }
+    
+    @Bean
+    public RequestStatementCounter requestStatementCounter() {
+        return new RequestStatementCounter();
+    }
+    
+    /**
+     * Hibernate takes a single inspector, so every StatementInspector bean is chained into one
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(List<StatementInspector> inspectors) {
+        StatementInspector chained = sql -> {
+            String result = sql;
+            for (StatementInspector inspector : inspectors) {
+                result = inspector.inspect(result);
+            }
+            return result;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, chained);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(
+            RequestStatementCounter requestStatementCounter, MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new RequestStatementMetricsFilter(requestStatementCounter, meterRegistry));
+    }
+    
+    @Bean
+    public SmartInitializingSingleton webSocketMetricsBinder(ListableBeanFactory beanFactory, ThreadingProperties threadingProperties,
+                                                             MeterRegistry meterRegistry) {
+        return () -> beanFactory.getBeanProvider(SubProtocolWebSocketHandler.class).ifAvailable(handler ->
+                WebSocketMetrics.bind(handler, threadingProperties.isVirtual()
+                        ? Map.of()
+                        : beanFactory.getBeansOfType(ThreadPoolTaskExecutor.class), meterRegistry));
+    }
+}
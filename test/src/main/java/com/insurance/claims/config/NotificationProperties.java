@@ -0,0 +1,27 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the asynchronous WebSocket notification dispatcher (claims.notifications.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.notifications")
+public class NotificationProperties {
+    
+    /**
+     * What to do when the dispatch queue is full
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,  // Evict the oldest queued notification to make room
+        DROP_NEWEST,  // Reject the notification being submitted
+        CALLER_RUNS   // Send synchronously on the submitting thread
+    }
+    
+    private int queueCapacity = 10_000;
+    
+    private int maxBatchSize = 256;
+    
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+}
@@ -0,0 +1,48 @@
+package com.insurance.claims.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Media type an API response will be written in, known before the handler builds the body
+ * Follows Spring MVC's choice between the JSON and CBOR converters (see CborConfig): every accepted
+ * type is paired with the compatible producible ones at its quality, and the most specific pair
+ * wins, JSON on a tie. Conditional GETs use it to tag the representation they would send.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseMediaTypes {
+    
+    // In converter order, which breaks ties
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+    
+    private final ContentNegotiationManager contentNegotiationManager;
+    
+    /**
+     * JSON when nothing producible is acceptable; the response itself is then refused as usual
+     */
+    public MediaType resolve(NativeWebRequest request) {
+        List<MediaType> candidates = new ArrayList<>();
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType producible : PRODUCIBLE) {
+                    if (accepted.isCompatibleWith(producible)) {
+                        candidates.add(producible.copyQualityValue(accepted));
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(candidates);
+        return candidates.isEmpty() ? MediaType.APPLICATION_JSON : candidates.get(0).removeQualityValue();
+    }
+}
@@ -0,0 +1,66 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Risk scoring of submitted claims (claims.risk.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.risk")
+public class RiskProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Time allowed for scoring one claim; rules still running when it runs out are left out
+     */
+    private Duration budget = Duration.ofMillis(3);
+    
+    /**
+     * Threads evaluating rules concurrently; 1 evaluates them in turn on the submitting thread.
+     * 0 means one per available processor, at most 4.
+     */
+    private int parallelism = 0;
+    
+    /**
+     * How far back each user's claims are kept for comparison
+     */
+    private Duration window = Duration.ofHours(24);
+    
+    /**
+     * How long a scored claim counts in its user's window before it commits; covers claims still
+     * being saved, so concurrent submissions are scored against each other
+     */
+    private Duration provisionalTtl = Duration.ofSeconds(10);
+    
+    /**
+     * Most recent claims kept per user within the window
+     */
+    private int maxRecentClaims = 32;
+    
+    /**
+     * Estimated description similarity (0-1) from which a claim counts as a near duplicate
+     */
+    private double duplicateSimilarity = 0.8;
+    
+    private int maxClaimsPerHour = 5;
+    
+    private int maxClaimsPerDay = 20;
+    
+    /**
+     * Multiple of the user's recent mean amount that counts as a spike
+     */
+    private double amountSpikeFactor = 5.0;
+    
+    /**
+     * Claims scoring at least this are sent to the admins for review
+     */
+    private int flagThreshold = 60;
+    
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+}
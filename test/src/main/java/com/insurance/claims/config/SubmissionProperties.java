@@ -0,0 +1,31 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Group commit of single claim submissions (claims.submission.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.submission")
+public class SubmissionProperties {
+    
+    /**
+     * Off: every POST /api/claims writes its own transaction on the request thread
+     */
+    private boolean groupCommit = false;
+    
+    private int maxBatchSize = 64;
+    
+    /**
+     * How long the first claim of a batch waits for others to join it
+     */
+    private Duration maxWait = Duration.ofNanos(500_000);
+    
+    /**
+     * Submissions that find the queue full are written on the request thread
+     */
+    private int queueCapacity = 10_000;
+}
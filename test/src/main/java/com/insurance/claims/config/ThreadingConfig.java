@@ -0,0 +1,102 @@
+package com.insurance.claims.config;
+
+import com.insurance.claims.threading.ConcurrencyLimitingDataSource;
+import com.insurance.claims.threading.PinnedThreadMonitor;
+import com.insurance.claims.threading.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+
+/**
+ * Request threading (claims.threads.*)
+ * In VIRTUAL mode Tomcat requests, @Async/MVC async tasks and the STOMP inbound/outbound channels
+ * (see WebSocketConfig) run on virtual threads, and JFR pinning events are reported. The connection
+ * limiter is installed in VIRTUAL mode, sized to the pool, or in any mode when db-max-concurrency is set.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+    
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        ThreadingProperties properties = Binder.get(environment)
+                .bind("claims.threads", ThreadingProperties.class)
+                .orElseGet(ThreadingProperties::new);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 0;
+                int limit = properties.getDbMaxConcurrency();
+                if (limit <= 0 && properties.isVirtual()) {
+                    limit = poolSize;
+                }
+                if (limit <= 0) {
+                    if (properties.isVirtual()) {
+                        log.warn("DataSource '{}' has no known pool size; set claims.threads.db-max-concurrency "
+                                + "to limit concurrent connections", beanName);
+                    }
+                    return bean;
+                }
+                if (poolSize > 0 && limit > poolSize) {
+                    log.warn("claims.threads.db-max-concurrency={} exceeds the connection pool size of {}; "
+                            + "callers beyond the pool will wait inside the pool instead of failing fast", limit, poolSize);
+                }
+                log.info("Limiting DataSource '{}' to {} concurrent connections", beanName, limit);
+                return new ConcurrencyLimitingDataSource(dataSource, limit, properties.getDbAcquireTimeout());
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limiter) {
+                limiter.bindTo(registry);
+            }
+        };
+    }
+    
+    @Configuration
+    @ConditionalOnProperty(name = "claims.threads.mode", havingValue = "virtual")
+    static class VirtualThreadConfig {
+        
+        VirtualThreadConfig() {
+            // Fail at startup rather than on the first request
+            VirtualThreads.requireSupported();
+            log.info("Running requests, async tasks and STOMP channels on virtual threads");
+        }
+        
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+        }
+        
+        /**
+         * Replaces Boot's pooled applicationTaskExecutor, used for @Async methods and async MVC handlers
+         */
+        @Bean(name = "applicationTaskExecutor")
+        public AsyncTaskExecutor applicationTaskExecutor() {
+            return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-vt-"));
+        }
+        
+        @Bean
+        public PinnedThreadMonitor pinnedThreadMonitor(ThreadingProperties properties, MeterRegistry meterRegistry) {
+            return new PinnedThreadMonitor(properties.getPinnedThreshold(), meterRegistry);
+        }
+    }
+}
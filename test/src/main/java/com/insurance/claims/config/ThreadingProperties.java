@@ -0,0 +1,41 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Request threading and database concurrency settings (claims.threads.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.threads")
+public class ThreadingProperties {
+    
+    public enum ThreadMode {
+        PLATFORM, // Tomcat's bounded worker pool and Spring's default executors
+        VIRTUAL   // One virtual thread per request, @Async task and STOMP message (Java 21+)
+    }
+    
+    private ThreadMode mode = ThreadMode.PLATFORM;
+    
+    /**
+     * Connections that may be checked out at once; 0 means off in PLATFORM mode and the
+     * connection pool's maximum size in VIRTUAL mode
+     */
+    private int dbMaxConcurrency = 0;
+    
+    /**
+     * How long a caller waits for a database permit before the request fails
+     */
+    private Duration dbAcquireTimeout = Duration.ofSeconds(5);
+    
+    /**
+     * Virtual threads pinned to their carrier for longer than this are reported
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    
+    public boolean isVirtual() {
+        return mode == ThreadMode.VIRTUAL;
+    }
+}
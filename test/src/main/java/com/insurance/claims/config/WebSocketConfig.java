@@ -1,19 +1,41 @@
 package com.insurance.claims.config;
 
+import com.insurance.claims.threading.VirtualThreadTaskExecutor;
+import com.insurance.claims.websocket.SlowConsumerGuard;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time notifications
  * Enables STOMP messaging over WebSocket
+ * 
+ * In SHARDED broker mode (claims.websocket.broker-mode=sharded) the subscription registry is
+ * split by destination hash (see ShardedBrokerInstaller), the outbound channel gets one thread
+ * per core and every session is capped by SlowConsumerGuard and the transport send limits.
+ * With claims.threads.mode=virtual the inbound and outbound channels start a virtual thread per message.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
+    private final WebSocketProperties properties;
+    private final ThreadingProperties threadingProperties;
+    private final SlowConsumerGuard slowConsumerGuard;
+    
+    public WebSocketConfig(WebSocketProperties properties, ThreadingProperties threadingProperties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.threadingProperties = threadingProperties;
+        this.slowConsumerGuard = isSharded()
+                ? new SlowConsumerGuard(properties.getSessionQueueLimit(), properties.getEvictAfterDrops(), meterRegistry)
+                : null;
+    }
+    
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker
@@ -29,5 +51,37 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+    
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (threadingProperties.isVirtual()) {
+            registration.taskExecutor(new VirtualThreadTaskExecutor("clientInboundChannel-vt-"));
+        }
+    }
+    
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (threadingProperties.isVirtual()) {
+            registration.taskExecutor(new VirtualThreadTaskExecutor("clientOutboundChannel-vt-"));
+        } else if (isSharded()) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            registration.taskExecutor().corePoolSize(cores).maxPoolSize(cores);
+        }
+        if (isSharded()) {
+            registration.interceptors(slowConsumerGuard);
+        }
+    }
+    
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        if (isSharded()) {
+            registration.setSendBufferSizeLimit(properties.getSendBufferSizeLimit())
+                    .setSendTimeLimit(properties.getSendTimeLimit())
+                    .addDecoratorFactory(slowConsumerGuard);
+        }
+    }
+    
+    private boolean isSharded() {
+        return properties.getBrokerMode() == WebSocketProperties.BrokerMode.SHARDED;
+    }
 }
-
@@ -0,0 +1,44 @@
+package com.insurance.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the STOMP broker (claims.websocket.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "claims.websocket")
+public class WebSocketProperties {
+    
+    public enum BrokerMode {
+        SIMPLE,   // Spring's simple broker as-is: one subscription registry, unbounded outbound queues
+        SHARDED   // Sharded subscription registry plus per-session backpressure and coalescing
+    }
+    
+    private BrokerMode brokerMode = BrokerMode.SIMPLE;
+    
+    /**
+     * Number of subscription registry shards; 0 means one per available processor
+     */
+    private int shards = 0;
+    
+    /**
+     * Maximum frames queued for one session on the outbound channel before new ones are dropped
+     */
+    private int sessionQueueLimit = 256;
+    
+    /**
+     * Consecutive drops after which a session is considered stuck and closed
+     */
+    private int evictAfterDrops = 1024;
+    
+    /**
+     * Bytes a session may have buffered in its socket send buffer before it is closed
+     */
+    private int sendBufferSizeLimit = 512 * 1024;
+    
+    /**
+     * Milliseconds a single send to a session may take before it is closed
+     */
+    private int sendTimeLimit = 10_000;
+}
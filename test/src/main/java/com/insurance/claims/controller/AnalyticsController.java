@@ -0,0 +1,62 @@
+package com.insurance.claims.controller;
+
+import com.insurance.claims.analytics.GroupBy;
+import com.insurance.claims.dto.AmountAnalyticsResponse;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.service.ClaimAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for claim amount analytics
+ * Every endpoint takes the same optional filters: a from/to range on the creation date (from
+ * inclusive, to exclusive), a status and a user.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+    
+    private final ClaimAnalyticsService claimAnalyticsService;
+    
+    /**
+     * Claim amounts per current status
+     */
+    @GetMapping("/amounts/by-status")
+    public ResponseEntity<AmountAnalyticsResponse> amountsByStatus(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ClaimStatus status,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(claimAnalyticsService.amounts(GroupBy.STATUS, from, to, status, userId));
+    }
+    
+    /**
+     * Claim amounts per creation day
+     */
+    @GetMapping("/amounts/by-day")
+    public ResponseEntity<AmountAnalyticsResponse> amountsByDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ClaimStatus status,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(claimAnalyticsService.amounts(GroupBy.DAY, from, to, status, userId));
+    }
+    
+    /**
+     * Claim amounts per user cohort, the month of each user's first claim
+     */
+    @GetMapping("/amounts/by-cohort")
+    public ResponseEntity<AmountAnalyticsResponse> amountsByCohort(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ClaimStatus status,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(claimAnalyticsService.amounts(GroupBy.COHORT, from, to, status, userId));
+    }
+}
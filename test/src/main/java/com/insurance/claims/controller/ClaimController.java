@@ -1,17 +1,42 @@
 package com.insurance.claims.controller;
 
+import com.insurance.claims.config.ResponseMediaTypes;
+import com.insurance.claims.dto.ClaimBatchResponse;
+import com.insurance.claims.dto.ClaimBatchReviewRequest;
+import com.insurance.claims.dto.ClaimBatchReviewResponse;
+import com.insurance.claims.dto.ClaimPageResponse;
 import com.insurance.claims.dto.ClaimRequest;
 import com.insurance.claims.dto.ClaimResponse;
 import com.insurance.claims.dto.ClaimReviewRequest;
+import com.insurance.claims.dto.ClaimSearchResponse;
+import com.insurance.claims.dto.ClaimStatsResponse;
 import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.service.ClaimBatchReviewService;
+import com.insurance.claims.service.ClaimBatchService;
+import com.insurance.claims.service.ClaimExportService;
+import com.insurance.claims.service.ClaimSearchService;
 import com.insurance.claims.service.ClaimService;
+import com.insurance.claims.service.ClaimSubmissionBatcher;
+import com.insurance.claims.service.ClaimStatsService;
+import com.insurance.claims.service.ETagService;
+import com.insurance.claims.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for Claim operations
@@ -23,17 +48,46 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ClaimController {
     
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    
     private final ClaimService claimService;
+    private final ClaimBatchService claimBatchService;
+    private final ClaimBatchReviewService claimBatchReviewService;
+    private final ClaimStatsService claimStatsService;
+    private final ClaimExportService claimExportService;
+    private final ClaimSearchService claimSearchService;
+    private final ClaimSubmissionBatcher claimSubmissionBatcher;
+    private final ETagService eTagService;
+    private final UserService userService;
+    private final ResponseMediaTypes responseMediaTypes;
     
     /**
      * User submits a new claim
      */
     @PostMapping
     public ResponseEntity<ClaimResponse> createClaim(@Valid @RequestBody ClaimRequest request) {
-        ClaimResponse claim = claimService.createClaim(request);
+        ClaimResponse claim = claimSubmissionBatcher.createClaim(request);
         return new ResponseEntity<>(claim, HttpStatus.CREATED);
     }
     
+    /**
+     * Bulk submission of a JSON array of claims, written with batched inserts
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClaimBatchResponse> createClaimBatch(@RequestBody List<ClaimRequest> requests) {
+        ClaimBatchResponse result = claimBatchService.createClaims(requests);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Bulk submission of an NDJSON stream (one claim per line), read incrementally
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE)
+    public ResponseEntity<ClaimBatchResponse> createClaimBatchStream(HttpServletRequest request) throws IOException {
+        ClaimBatchResponse result = claimBatchService.createClaims(request.getReader());
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Admin reviews and updates claim status
      */
@@ -45,40 +99,153 @@ public class ClaimController {
         return ResponseEntity.ok(claim);
     }
     
+    /**
+     * Admin applies one status change to many claims, selected by id or by current status
+     */
+    @PutMapping("/review/batch")
+    public ResponseEntity<ClaimBatchReviewResponse> reviewClaimBatch(@Valid @RequestBody ClaimBatchReviewRequest request) {
+        ClaimBatchReviewResponse result = claimBatchReviewService.reviewClaims(request);
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Get claim by ID
+     * Conditional on the claim's version: If-None-Match with the current ETag returns 304
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ClaimResponse> getClaimById(@PathVariable Long id) {
+    public ResponseEntity<ClaimResponse> getClaimById(@PathVariable Long id, NativeWebRequest webRequest) {
+        MediaType representation = responseMediaTypes.resolve(webRequest);
+        String eTag = eTagService.claimTag(id, representation);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         ClaimResponse claim = claimService.getClaimById(id);
+        // Without the read model the version is only known once loaded; a match still saves the body
+        if (eTag == null && webRequest.checkNotModified(eTagService.claimTag(claim, representation))) {
+            return null;
+        }
         return ResponseEntity.ok(claim);
     }
     
     /**
-     * Get all claims (for admin)
+     * Get claim by its claim number (e.g. CLM-0123456789ABC)
+     */
+    @GetMapping("/number/{claimNumber}")
+    public ResponseEntity<ClaimResponse> getClaimByNumber(@PathVariable String claimNumber, NativeWebRequest webRequest) {
+        MediaType representation = responseMediaTypes.resolve(webRequest);
+        String eTag = eTagService.claimTagByNumber(claimNumber, representation);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ClaimResponse claim = claimService.getClaimByNumber(claimNumber);
+        if (eTag == null && webRequest.checkNotModified(eTagService.claimTag(claim, representation))) {
+            return null;
+        }
+        return ResponseEntity.ok(claim);
+    }
+    
+    /**
+     * Get all claims (for admin), newest first, one page at a time
+     * Listings are conditional on a change counter for their scope (If-None-Match returns 304)
      */
     @GetMapping
-    public ResponseEntity<List<ClaimResponse>> getAllClaims() {
-        List<ClaimResponse> claims = claimService.getAllClaims();
+    public ResponseEntity<ClaimPageResponse> getAllClaims(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            NativeWebRequest webRequest) {
+        if (webRequest.checkNotModified(eTagService.allClaimsTag(responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
+        ClaimPageResponse claims = claimService.getAllClaims(cursor, size);
         return ResponseEntity.ok(claims);
     }
     
     /**
-     * Get claims by user ID
+     * Free-text search over descriptions and review comments, best match first, one page at a time
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ClaimSearchResponse> searchClaims(
+            @RequestParam String q,
+            @RequestParam(required = false) ClaimStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ClaimSearchResponse results = claimSearchService.search(q, status, cursor, size);
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Full claim history as NDJSON or CSV, streamed from a database cursor straight to the response.
+     * Compressed on the fly when the client sends Accept-Encoding: gzip.
+     */
+    @GetMapping("/export")
+    public void exportClaims(
+            @RequestParam(required = false) ClaimStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ClaimExportService.Format exportFormat = ClaimExportService.Format.fromName(format);
+        claimExportService.validateFilter(from, to);
+        
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"claims." + exportFormat.getExtension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream()) {
+            claimExportService.export(status, userId, from, to, exportFormat, out);
+        }
+    }
+    
+    /**
+     * Claim counts and amount totals per status, for all claims or for one user
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ClaimStatsResponse> getClaimStats(@RequestParam(required = false) Long userId) {
+        ClaimStatsResponse stats = userId != null
+                ? claimStatsService.getStatsForUser(userId)
+                : claimStatsService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+    
+    /**
+     * Get claims by user ID, newest first, one page at a time
+     * The user is checked first (cached), so an unknown user gets an error without an ETag.
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ClaimResponse>> getClaimsByUser(@PathVariable Long userId) {
-        List<ClaimResponse> claims = claimService.getClaimsByUser(userId);
+    public ResponseEntity<ClaimPageResponse> getClaimsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            NativeWebRequest webRequest) {
+        userService.getUserById(userId);
+        if (webRequest.checkNotModified(eTagService.userClaimsTag(userId, responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
+        ClaimPageResponse claims = claimService.getClaimsByUser(userId, cursor, size);
         return ResponseEntity.ok(claims);
     }
     
     /**
-     * Get claims by status (for admin)
+     * Get claims by status (for admin), newest first, one page at a time
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ClaimResponse>> getClaimsByStatus(@PathVariable ClaimStatus status) {
-        List<ClaimResponse> claims = claimService.getClaimsByStatus(status);
+    public ResponseEntity<ClaimPageResponse> getClaimsByStatus(
+            @PathVariable ClaimStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            NativeWebRequest webRequest) {
+        if (webRequest.checkNotModified(eTagService.statusClaimsTag(status, responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
+        ClaimPageResponse claims = claimService.getClaimsByStatus(status, cursor, size);
         return ResponseEntity.ok(claims);
     }
 }
-
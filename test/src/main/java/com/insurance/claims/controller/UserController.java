@@ -1,14 +1,17 @@
 package com.insurance.claims.controller;
 
+import com.insurance.claims.config.ResponseMediaTypes;
 import com.insurance.claims.dto.UserRequest;
 import com.insurance.claims.model.User;
 import com.insurance.claims.model.UserRole;
+import com.insurance.claims.service.ETagService;
 import com.insurance.claims.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -23,6 +26,8 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final ETagService eTagService;
+    private final ResponseMediaTypes responseMediaTypes;
     
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody UserRequest request) {
@@ -30,20 +35,34 @@ public class UserController {
         return new ResponseEntity<>(user, HttpStatus.CREATED);
     }
     
+    /**
+     * Reads are conditional: If-None-Match with the current ETag returns 304 without a database query
+     * The user is looked up first (a cache hit once read), so an unknown id is an error with no
+     * ETag and a tag can never validate a user that does not exist yet.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<User> getUserById(@PathVariable Long id, NativeWebRequest webRequest) {
         User user = userService.getUserById(id);
+        if (webRequest.checkNotModified(eTagService.userTag(user, responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
         return ResponseEntity.ok(user);
     }
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<User>> getAllUsers(NativeWebRequest webRequest) {
+        if (webRequest.checkNotModified(eTagService.usersTag(responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
         List<User> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<List<User>> getUsersByRole(@PathVariable UserRole role, NativeWebRequest webRequest) {
+        if (webRequest.checkNotModified(eTagService.usersTag(responseMediaTypes.resolve(webRequest)))) {
+            return null;
+        }
         List<User> users = userService.getUsersByRole(role);
         return ResponseEntity.ok(users);
     }
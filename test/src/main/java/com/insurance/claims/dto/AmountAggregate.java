@@ -0,0 +1,24 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the claim amounts of one group: a status, a day (yyyy-MM-dd) or a cohort month (yyyy-MM)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountAggregate {
+    
+    private String key;
+    private long count;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+    private BigDecimal p95Amount;
+}
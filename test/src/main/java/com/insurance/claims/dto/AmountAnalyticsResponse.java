@@ -0,0 +1,34 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.analytics.GroupBy;
+import com.insurance.claims.model.ClaimStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for claim amounts aggregated per group, echoing the filter applied (null meaning unfiltered)
+ * Groups without claims are left out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountAnalyticsResponse {
+    
+    private GroupBy groupBy;
+    private LocalDate from;
+    private LocalDate to;
+    private ClaimStatus status;
+    private Long userId;
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private List<AmountAggregate> groups;
+    private long scannedRows;
+    private long elapsedMillis;
+}
@@ -0,0 +1,22 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one claim in a batch submission
+ * index is the zero-based position of the claim in the submitted array/stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimBatchItemResult {
+    
+    private int index;
+    private boolean success;
+    private ClaimResponse claim;
+    private String error;
+}
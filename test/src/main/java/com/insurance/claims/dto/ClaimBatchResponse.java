@@ -0,0 +1,25 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a batch claim submission
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimBatchResponse {
+    
+    private int received;
+    private int created;
+    private int failed;
+    private long elapsedMillis;
+    private double claimsPerSecond;
+    private List<ClaimBatchItemResult> results;
+}
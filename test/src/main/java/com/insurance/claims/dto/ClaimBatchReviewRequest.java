@@ -0,0 +1,32 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.model.ClaimStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an admin review applied to many claims at once
+ * Claims are selected either by id (claimIds) or by their current status (fromStatus), not both.
+ * Versions are not checked; each claim only needs to allow the transition to status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimBatchReviewRequest {
+    
+    private List<Long> claimIds;
+    
+    private ClaimStatus fromStatus;
+    
+    @NotNull(message = "Status is required")
+    private ClaimStatus status;
+    
+    private String reviewComments;
+    
+    @NotNull(message = "Admin ID is required")
+    private Long adminId;
+}
@@ -0,0 +1,24 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a batch review
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimBatchReviewResponse {
+    
+    private int matched;
+    private int updated;
+    private int failed;
+    private long elapsedMillis;
+    private List<ClaimReviewOutcome> results;
+}
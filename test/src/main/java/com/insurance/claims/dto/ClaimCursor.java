@@ -0,0 +1,34 @@
+package com.insurance.claims.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a claim listing ordered by (createdAt DESC, id DESC)
+ * Serialized as an opaque URL-safe token so clients never depend on its layout
+ */
+public record ClaimCursor(LocalDateTime createdAt, Long id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public static ClaimCursor of(ClaimResponse claim) {
+        return new ClaimCursor(claim.getCreatedAt(), claim.getId());
+    }
+    
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ClaimCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new ClaimCursor(LocalDateTime.parse(raw.substring(0, split)), Long.valueOf(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new RuntimeException("Invalid cursor: " + token);
+        }
+    }
+}
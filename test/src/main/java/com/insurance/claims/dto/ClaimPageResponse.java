@@ -0,0 +1,24 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a claim listing
+ * nextCursor is null once the last page has been reached
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimPageResponse {
+    
+    private List<ClaimResponse> claims;
+    private String nextCursor;
+    private int size;
+    private boolean hasMore;
+}
@@ -1,6 +1,7 @@
 package com.insurance.claims.dto;
 
 import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.RiskFlag;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * DTO for claim response
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ClaimResponse {
     
     private Long id;
@@ -29,5 +31,8 @@ public class ClaimResponse {
     private String reviewComments;
     private LocalDateTime createdAt;
     private LocalDateTime reviewedAt;
+    private Long version;
+    private Integer riskScore;
+    private Set<RiskFlag> riskFlags;
 }
 
@@ -0,0 +1,155 @@
+package com.insurance.claims.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.insurance.claims.model.RiskFlag;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes ClaimResponse field by field, with field names encoded once, instead of through bean
+ * introspection. Output matches the default mapping: every field in declaration order, nulls
+ * included, dates as ISO_LOCAL_DATE_TIME. Works for any generator, so JSON and CBOR alike.
+ * Keep it in step with the fields of ClaimResponse.
+ */
+@JsonComponent
+public class ClaimResponseSerializer extends StdSerializer<ClaimResponse> {
+    
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CLAIM_NUMBER = new SerializedString("claimNumber");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CLAIM_AMOUNT = new SerializedString("claimAmount");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString USER_NAME = new SerializedString("userName");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString REVIEWED_BY_NAME = new SerializedString("reviewedByName");
+    private static final SerializableString REVIEW_COMMENTS = new SerializedString("reviewComments");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString REVIEWED_AT = new SerializedString("reviewedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString RISK_SCORE = new SerializedString("riskScore");
+    private static final SerializableString RISK_FLAGS = new SerializedString("riskFlags");
+    
+    public ClaimResponseSerializer() {
+        super(ClaimResponse.class);
+    }
+    
+    @Override
+    public void serialize(ClaimResponse claim, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(claim, 14);
+        gen.writeFieldName(ID);
+        writeNumber(gen, claim.getId());
+        gen.writeFieldName(CLAIM_NUMBER);
+        gen.writeString(claim.getClaimNumber());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(claim.getDescription());
+        gen.writeFieldName(CLAIM_AMOUNT);
+        if (claim.getClaimAmount() != null) {
+            gen.writeNumber(claim.getClaimAmount());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeFieldName(STATUS);
+        gen.writeString(claim.getStatus() != null ? claim.getStatus().name() : null);
+        gen.writeFieldName(USER_NAME);
+        gen.writeString(claim.getUserName());
+        gen.writeFieldName(USER_ID);
+        writeNumber(gen, claim.getUserId());
+        gen.writeFieldName(REVIEWED_BY_NAME);
+        gen.writeString(claim.getReviewedByName());
+        gen.writeFieldName(REVIEW_COMMENTS);
+        gen.writeString(claim.getReviewComments());
+        gen.writeFieldName(CREATED_AT);
+        writeDateTime(gen, claim.getCreatedAt());
+        gen.writeFieldName(REVIEWED_AT);
+        writeDateTime(gen, claim.getReviewedAt());
+        gen.writeFieldName(VERSION);
+        writeNumber(gen, claim.getVersion());
+        gen.writeFieldName(RISK_SCORE);
+        if (claim.getRiskScore() != null) {
+            gen.writeNumber(claim.getRiskScore());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeFieldName(RISK_FLAGS);
+        if (claim.getRiskFlags() != null) {
+            gen.writeStartArray(claim.getRiskFlags(), claim.getRiskFlags().size());
+            for (RiskFlag flag : claim.getRiskFlags()) {
+                gen.writeString(flag.name());
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+    
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+    
+    private static void writeDateTime(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        char[] chars = new char[29];
+        int length = formatIsoDateTime(value, chars);
+        if (length < 0) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            gen.writeString(chars, 0, length);
+        }
+    }
+    
+    /**
+     * Same text as ISO_LOCAL_DATE_TIME: seconds always, fraction only when non-zero and without
+     * trailing zeros. Returns -1 for years outside 0-9999, which the formatter writes with a sign.
+     */
+    static int formatIsoDateTime(LocalDateTime value, char[] chars) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        int pos = writeDigits(chars, 0, year, 4);
+        chars[pos++] = '-';
+        pos = writeDigits(chars, pos, value.getMonthValue(), 2);
+        chars[pos++] = '-';
+        pos = writeDigits(chars, pos, value.getDayOfMonth(), 2);
+        chars[pos++] = 'T';
+        pos = writeDigits(chars, pos, value.getHour(), 2);
+        chars[pos++] = ':';
+        pos = writeDigits(chars, pos, value.getMinute(), 2);
+        chars[pos++] = ':';
+        pos = writeDigits(chars, pos, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[pos++] = '.';
+            pos = writeDigits(chars, pos, nano, digits);
+        }
+        return pos;
+    }
+    
+    private static int writeDigits(char[] chars, int pos, int value, int digits) {
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+}
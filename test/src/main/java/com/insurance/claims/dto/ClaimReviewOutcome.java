@@ -0,0 +1,24 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.model.ClaimStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one claim in a batch review
+ * previousStatus is the status the claim had when the batch reached it, null if it does not exist
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimReviewOutcome {
+    
+    private Long claimId;
+    private boolean success;
+    private ClaimStatus previousStatus;
+    private ClaimResponse claim;
+    private String error;
+}
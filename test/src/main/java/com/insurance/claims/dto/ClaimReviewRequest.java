@@ -21,5 +21,9 @@ public class ClaimReviewRequest {
     
     @NotNull(message = "Admin ID is required")
     private Long adminId;
+    
+    // Version the admin reviewed (ClaimResponse.version); when set, the review fails with 409
+    // if the claim changed since. When omitted only the status transition is checked.
+    private Long version;
 }
 
@@ -0,0 +1,29 @@
+package com.insurance.claims.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in ranked search results ordered by (score DESC, id DESC)
+ * Serialized as an opaque URL-safe token, like ClaimCursor
+ */
+public record ClaimSearchCursor(float score, long id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public String encode() {
+        // Float.toString is the shortest form that parses back to the same float
+        String raw = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ClaimSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new ClaimSearchCursor(Float.parseFloat(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new RuntimeException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.insurance.claims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of claim search results, best match first
+ * totalHits counts matches across all pages; when totalHitsExact is false it is a lower bound
+ * (ranking skipped claims that could not reach the page). nextCursor is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimSearchResponse {
+    
+    private String query;
+    private int totalHits;
+    private boolean totalHitsExact;
+    private List<ClaimSearchHit> hits;
+    private String nextCursor;
+    private int size;
+    private boolean hasMore;
+}
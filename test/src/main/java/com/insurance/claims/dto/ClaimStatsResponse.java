@@ -0,0 +1,28 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.model.ClaimStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for claim statistics, either across all claims or for one user (userId set)
+ * lastReconciledAt is when the counters were last checked against the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimStatsResponse {
+    
+    private Long userId;
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private Map<ClaimStatus, ClaimStatusTotals> byStatus;
+    private LocalDateTime lastReconciledAt;
+}
@@ -0,0 +1,11 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.model.ClaimStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the per-user, per-status aggregate used to rebuild and reconcile claim statistics
+ */
+public record ClaimStatsRow(Long userId, ClaimStatus status, Long count, BigDecimal totalAmount) {
+}
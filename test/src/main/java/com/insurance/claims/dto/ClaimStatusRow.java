@@ -0,0 +1,9 @@
+package com.insurance.claims.dto;
+
+import com.insurance.claims.model.ClaimStatus;
+
+/**
+ * Current status of one claim, read under lock by batch reviews
+ */
+public record ClaimStatusRow(Long id, ClaimStatus status) {
+}
@@ -0,0 +1,27 @@
+package com.insurance.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for API errors; currentState is set on conflicts and errors (per field) on validation failures
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+    
+    private LocalDateTime timestamp;
+    private String message;
+    private int status;
+    private ClaimResponse currentState;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,22 @@
+package com.insurance.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Payload of a WebSocket notification. A single notification is {message, timestamp}; a coalesced
+ * one joins the messages for display and also lists them individually with their count.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NotificationPayload(String message, LocalDateTime timestamp, List<String> messages, Integer count) {
+    
+    public static NotificationPayload single(String message, LocalDateTime timestamp) {
+        return new NotificationPayload(message, timestamp, null, null);
+    }
+    
+    public static NotificationPayload coalesced(List<String> messages, LocalDateTime timestamp) {
+        return new NotificationPayload(String.join("; ", messages), timestamp, messages, messages.size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.claims.event;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.ClaimStatus;
+
+import java.time.Instant;
+
+/**
+ * Domain event published by claim write paths inside their transaction
+ * Listeners that produce side effects (notifications, projections) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param claim          state of the claim after the change
+ * @param previousStatus status before the change, null for new claims
+ */
+public record ClaimChangedEvent(Type type, ClaimResponse claim, ClaimStatus previousStatus, Instant occurredAt) {
+    
+    public enum Type {
+        CREATED,   // Single claim submitted through POST /api/claims
+        IMPORTED,  // Claim created by bulk ingestion, owner is notified once per batch
+        REVIEWED,  // Status changed by an admin
+        BULK_REVIEWED  // Status changed by an admin's batch review, owner is notified once per batch
+    }
+    
+    public static ClaimChangedEvent created(ClaimResponse claim) {
+        return new ClaimChangedEvent(Type.CREATED, claim, null, Instant.now());
+    }
+    
+    public static ClaimChangedEvent imported(ClaimResponse claim) {
+        return new ClaimChangedEvent(Type.IMPORTED, claim, null, Instant.now());
+    }
+    
+    public static ClaimChangedEvent reviewed(ClaimResponse claim, ClaimStatus previousStatus) {
+        return new ClaimChangedEvent(Type.REVIEWED, claim, previousStatus, Instant.now());
+    }
+    
+    public static ClaimChangedEvent bulkReviewed(ClaimResponse claim, ClaimStatus previousStatus) {
+        return new ClaimChangedEvent(Type.BULK_REVIEWED, claim, previousStatus, Instant.now());
+    }
+}
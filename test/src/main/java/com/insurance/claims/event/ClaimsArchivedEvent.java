@@ -0,0 +1,12 @@
+package com.insurance.claims.event;
+
+import com.insurance.claims.dto.ClaimResponse;
+
+import java.util.List;
+
+/**
+ * Published when closed claims have moved from the claims table into the archive; the claims
+ * themselves are unchanged and still readable
+ */
+public record ClaimsArchivedEvent(List<ClaimResponse> claims) {
+}
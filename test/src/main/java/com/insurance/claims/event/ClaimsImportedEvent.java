@@ -0,0 +1,9 @@
+package com.insurance.claims.event;
+
+import java.util.Map;
+
+/**
+ * Published once per bulk ingestion chunk with the number of claims created per user
+ */
+public record ClaimsImportedEvent(Map<Long, Long> createdPerUser) {
+}
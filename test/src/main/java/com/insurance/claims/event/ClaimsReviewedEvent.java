@@ -0,0 +1,13 @@
+package com.insurance.claims.event;
+
+import com.insurance.claims.model.ClaimStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published once per batch review, after its last chunk has committed, with the claim numbers
+ * moved to status per user
+ */
+public record ClaimsReviewedEvent(ClaimStatus status, Map<Long, List<String>> claimNumbersPerUser) {
+}
@@ -0,0 +1,7 @@
+package com.insurance.claims.event;
+
+/**
+ * Published by UserService when a user is created; listeners see it after the transaction commits
+ */
+public record UserCreatedEvent(Long userId) {
+}
@@ -0,0 +1,19 @@
+package com.insurance.claims.exception;
+
+import com.insurance.claims.dto.ClaimResponse;
+import lombok.Getter;
+
+/**
+ * Thrown when a claim update loses against a concurrent change or asks for a status
+ * transition the claim's current status does not allow; mapped to 409 with the current state
+ */
+@Getter
+public class ClaimConflictException extends RuntimeException {
+    
+    private final ClaimResponse currentState;
+    
+    public ClaimConflictException(String message, ClaimResponse currentState) {
+        super(message);
+        this.currentState = currentState;
+    }
+}
@@ -0,0 +1,19 @@
+package com.insurance.claims.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed by admission control; mapped to 429 with a Retry-After header
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
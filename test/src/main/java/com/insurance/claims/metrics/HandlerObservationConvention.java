@@ -0,0 +1,18 @@
+package com.insurance.claims.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds a "handler" tag (controller.method) to the http.server.requests timers
+ */
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+    
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("handler", RouteTags.handler(context.getCarrier())));
+    }
+}
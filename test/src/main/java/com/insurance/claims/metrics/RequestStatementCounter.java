@@ -0,0 +1,31 @@
+package com.insurance.claims.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between begin() and end()
+ * Statements run on other threads (after-commit listeners handed off, async work) are not counted.
+ */
+public class RequestStatementCounter implements StatementInspector {
+    
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+    
+    public void begin() {
+        current.set(new int[1]);
+    }
+    
+    public int end() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.insurance.claims.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, per route (claims.http.statements)
+ * Catches N+1 regressions that per-request timers alone hide.
+ */
+@RequiredArgsConstructor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+    
+    private final RequestStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        statementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.end();
+            String handler = RouteTags.handler(request);
+            if (!RouteTags.NONE.equals(handler)) {
+                DistributionSummary.builder("claims.http.statements")
+                        .description("SQL statements issued per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", RouteTags.uri(request))
+                        .tag("handler", handler)
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
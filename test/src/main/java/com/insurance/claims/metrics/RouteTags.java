@@ -0,0 +1,32 @@
+package com.insurance.claims.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Low-cardinality tags describing which route served a request
+ */
+final class RouteTags {
+    
+    static final String NONE = "none";
+    
+    private RouteTags() {
+    }
+    
+    /**
+     * Controller and method, e.g. ClaimController.getClaimById; "none" for static resources and unmatched requests
+     */
+    static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+    
+    static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
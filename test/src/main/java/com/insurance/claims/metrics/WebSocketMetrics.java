@@ -0,0 +1,56 @@
+package com.insurance.claims.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+
+/**
+ * Gauges for the STOMP endpoint: open sessions and the task queue of the client message channels
+ * A growing claims.websocket.channel.queue{channel=outbound} means clients are not keeping up.
+ * The broker channel is not gauged: with the simple broker it delivers on the sending thread and
+ * never queues. Callers pass no executors when the channels run on virtual threads, as the
+ * pooled executor beans then sit idle.
+ */
+public final class WebSocketMetrics {
+    
+    private static final Map<String, String> CHANNEL_EXECUTORS = Map.of(
+            "inbound", "clientInboundChannelExecutor",
+            "outbound", "clientOutboundChannelExecutor");
+    
+    private WebSocketMetrics() {
+    }
+    
+    public static void bind(SubProtocolWebSocketHandler webSocketHandler, Map<String, ThreadPoolTaskExecutor> executors,
+                            MeterRegistry meterRegistry) {
+        // getTotalSessions() only ever grows; the per-transport counts go down as sessions close
+        Gauge.builder("claims.websocket.sessions", webSocketHandler, WebSocketMetrics::openSessions)
+                .description("Open WebSocket/SockJS sessions")
+                .register(meterRegistry);
+        CHANNEL_EXECUTORS.forEach((channel, beanName) -> {
+            ThreadPoolTaskExecutor executor = executors.get(beanName);
+            if (executor != null) {
+                Gauge.builder("claims.websocket.channel.queue", executor, WebSocketMetrics::queueSize)
+                        .description("Messages waiting for a thread on a STOMP message channel")
+                        .tag("channel", channel)
+                        .register(meterRegistry);
+            }
+        });
+    }
+    
+    private static double openSessions(SubProtocolWebSocketHandler handler) {
+        SubProtocolWebSocketHandler.Stats stats = handler.getStats();
+        return stats.getWebSocketSessions() + stats.getHttpStreamingSessions() + stats.getHttpPollingSessions();
+    }
+    
+    private static double queueSize(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException ex) {
+            // Not initialized yet or already shut down
+            return Double.NaN;
+        }
+    }
+}
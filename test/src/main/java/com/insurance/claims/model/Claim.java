@@ -6,24 +6,38 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
 
 /**
  * Claim Entity - Represents an insurance claim
  * Uses JPA annotations for database mapping
  */
 @Entity
-@Table(name = "claims")
+@Table(name = "claims",
+        indexes = {
+                @Index(name = "uk_claims_claim_number", columnList = "claimNumber", unique = true),
+                // One composite index per listing: equality column, then the newest-first keyset order (createdAt, id)
+                @Index(name = "idx_claims_status_created", columnList = "status, createdAt DESC, id DESC"),
+                @Index(name = "idx_claims_user_created", columnList = "user_id, createdAt DESC, id DESC"),
+                @Index(name = "idx_claims_created", columnList = "createdAt DESC, id DESC"),
+                // Archiver order: oldest closed first
+                @Index(name = "idx_claims_closed", columnList = "closedAt, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Claim {
     
+    // Pooled sequence (not IDENTITY) so Hibernate can assign ids up front and batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_seq")
+    @SequenceGenerator(name = "claim_seq", sequenceName = "claims_seq", allocationSize = 50)
     private Long id;
     
-    @Column(nullable = false)
+    @Column(nullable = false, length = 20)
     private String claimNumber;
     
     @Column(nullable = false)
@@ -53,12 +67,36 @@ public class Claim {
     @Column
     private LocalDateTime reviewedAt;
     
+    // When the claim reached a final status (approved or rejected); null while it is open
+    @Column
+    private LocalDateTime closedAt;
+    
+    // Set when a claim is submitted individually; bulk-imported claims are not scored
+    @Column
+    private Integer riskScore;
+    
+    @Convert(converter = RiskFlagsConverter.class)
+    @Column(length = 100)
+    private Set<RiskFlag> riskFlags;
+    
+    // Optimistic concurrency: bumped by every update, checked by conditional review updates
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Match the column's precision so the saved entity equals what is read back
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (claimAmount != null) {
+            claimAmount = claimAmount.setScale(2, RoundingMode.HALF_UP);
+        }
         if (status == null) {
             status = ClaimStatus.PENDING;
         }
+        if (status.isFinal() && closedAt == null) {
+            closedAt = reviewedAt != null ? reviewedAt : createdAt;
+        }
     }
 }
 
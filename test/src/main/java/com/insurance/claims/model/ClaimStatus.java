@@ -1,12 +1,54 @@
 package com.insurance.claims.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum representing the status of a claim
+ * Allowed review transitions: PENDING -> IN_PROGRESS/APPROVED/REJECTED, IN_PROGRESS -> APPROVED/REJECTED.
+ * APPROVED and REJECTED are final.
  */
 public enum ClaimStatus {
     PENDING,      // Initial status when claim is submitted
     IN_PROGRESS,  // Admin is reviewing the claim
     APPROVED,     // Claim has been approved
-    REJECTED      // Claim has been rejected
+    REJECTED;     // Claim has been rejected
+    
+    private static final Map<ClaimStatus, Set<ClaimStatus>> TRANSITIONS = new EnumMap<>(ClaimStatus.class);
+    private static final Map<ClaimStatus, Set<ClaimStatus>> PREDECESSORS = new EnumMap<>(ClaimStatus.class);
+    
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(IN_PROGRESS, APPROVED, REJECTED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(APPROVED, REJECTED));
+        TRANSITIONS.put(APPROVED, EnumSet.noneOf(ClaimStatus.class));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(ClaimStatus.class));
+        
+        for (ClaimStatus target : values()) {
+            Set<ClaimStatus> sources = EnumSet.noneOf(ClaimStatus.class);
+            for (ClaimStatus source : values()) {
+                if (TRANSITIONS.get(source).contains(target)) {
+                    sources.add(source);
+                }
+            }
+            PREDECESSORS.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+    
+    public boolean canTransitionTo(ClaimStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+    
+    public boolean isFinal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
+    
+    /**
+     * Statuses a claim may be in to move to the given one (unordered)
+     */
+    public static Set<ClaimStatus> predecessorsOf(ClaimStatus target) {
+        return PREDECESSORS.get(target);
+    }
 }
-
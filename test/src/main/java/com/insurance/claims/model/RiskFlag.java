@@ -0,0 +1,10 @@
+package com.insurance.claims.model;
+
+/**
+ * Reasons a submitted claim was scored as risky
+ */
+public enum RiskFlag {
+    NEAR_DUPLICATE,  // Description (and possibly amount) closely matches a recent claim by the same user
+    HIGH_VELOCITY,   // User is submitting claims faster than usual limits allow
+    AMOUNT_SPIKE     // Amount far above the user's recent claims
+}
@@ -0,0 +1,33 @@
+package com.insurance.claims.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores risk flags as one comma-separated column; no flags is stored as null
+ */
+@Converter
+public class RiskFlagsConverter implements AttributeConverter<Set<RiskFlag>, String> {
+    
+    @Override
+    public String convertToDatabaseColumn(Set<RiskFlag> flags) {
+        if (flags == null || flags.isEmpty()) {
+            return null;
+        }
+        return flags.stream().map(RiskFlag::name).collect(Collectors.joining(","));
+    }
+    
+    @Override
+    public Set<RiskFlag> convertToEntityAttribute(String column) {
+        Set<RiskFlag> flags = EnumSet.noneOf(RiskFlag.class);
+        if (column != null && !column.isEmpty()) {
+            Arrays.stream(column.split(",")).map(RiskFlag::valueOf).forEach(flags::add);
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,134 @@
+package com.insurance.claims.readmodel;
+
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.ClaimStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Materialized claim listings: the latest ClaimResponse per claim plus sorted indexes for the
+ * newest-first listings (all claims, per user, per status)
+ * Snapshots are never modified once stored; a change replaces the claim's snapshot and is only
+ * applied if its version is newer than the stored one, so changes may arrive in any order and
+ * more than once. Indexes are ordered by (createdAt DESC, id DESC) like the database listings
+ * and are updated while the claim's map entry is locked, so changes to one claim never interleave.
+ * Reads take no locks. A reader may briefly miss a claim whose status is changing.
+ */
+public class ClaimReadModel {
+    
+    private static final Comparator<ClaimKey> NEWEST_FIRST = Comparator
+            .comparing(ClaimKey::createdAt, Comparator.reverseOrder())
+            .thenComparing(ClaimKey::id, Comparator.reverseOrder());
+    
+    private final Map<Long, ClaimResponse> claims = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByClaimNumber = new ConcurrentHashMap<>();
+    private final NavigableSet<ClaimKey> all = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<Long, NavigableSet<ClaimKey>> byUser = new ConcurrentHashMap<>();
+    private final Map<ClaimStatus, NavigableSet<ClaimKey>> byStatus = new EnumMap<>(ClaimStatus.class);
+    
+    public ClaimReadModel() {
+        for (ClaimStatus status : ClaimStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        }
+    }
+    
+    /**
+     * Stores the claim's state unless a newer or equal version is already stored.
+     * Returns whether it was stored.
+     */
+    public boolean apply(ClaimResponse claim) {
+        boolean[] applied = new boolean[1];
+        claims.compute(claim.getId(), (id, current) -> {
+            if (current != null && current.getVersion() >= claim.getVersion()) {
+                return current;
+            }
+            ClaimKey key = new ClaimKey(claim.getCreatedAt(), id);
+            if (current == null) {
+                all.add(key);
+                byUser.computeIfAbsent(claim.getUserId(), userId -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(key);
+                idsByClaimNumber.put(claim.getClaimNumber(), id);
+            }
+            // Added to the new status before leaving the old one; readers check the snapshot's status
+            byStatus.get(claim.getStatus()).add(key);
+            if (current != null && current.getStatus() != claim.getStatus()) {
+                byStatus.get(current.getStatus()).remove(key);
+            }
+            applied[0] = true;
+            return claim;
+        });
+        return applied[0];
+    }
+    
+    /**
+     * Drops the claim and its index entries, e.g. once it has been archived
+     */
+    public void remove(Long id) {
+        claims.computeIfPresent(id, (claimId, current) -> {
+            ClaimKey key = new ClaimKey(current.getCreatedAt(), claimId);
+            all.remove(key);
+            NavigableSet<ClaimKey> userKeys = byUser.get(current.getUserId());
+            if (userKeys != null) {
+                userKeys.remove(key);
+            }
+            byStatus.get(current.getStatus()).remove(key);
+            idsByClaimNumber.remove(current.getClaimNumber(), claimId);
+            return null;
+        });
+    }
+    
+    public ClaimResponse get(Long id) {
+        return claims.get(id);
+    }
+    
+    public ClaimResponse getByClaimNumber(String claimNumber) {
+        Long id = idsByClaimNumber.get(claimNumber);
+        return id != null ? claims.get(id) : null;
+    }
+    
+    /**
+     * Up to limit claims after the cursor (null for the first page), newest first
+     */
+    public List<ClaimResponse> page(ClaimCursor after, int limit) {
+        return page(all, after, limit, null);
+    }
+    
+    public List<ClaimResponse> pageByUser(Long userId, ClaimCursor after, int limit) {
+        NavigableSet<ClaimKey> keys = byUser.get(userId);
+        return keys != null ? page(keys, after, limit, null) : List.of();
+    }
+    
+    public List<ClaimResponse> pageByStatus(ClaimStatus status, ClaimCursor after, int limit) {
+        return page(byStatus.get(status), after, limit, status);
+    }
+    
+    public int size() {
+        return claims.size();
+    }
+    
+    private List<ClaimResponse> page(NavigableSet<ClaimKey> keys, ClaimCursor after, int limit, ClaimStatus status) {
+        NavigableSet<ClaimKey> remaining = after == null ? keys : keys.tailSet(new ClaimKey(after.createdAt(), after.id()), false);
+        List<ClaimResponse> page = new ArrayList<>(Math.min(limit, 64));
+        for (ClaimKey key : remaining) {
+            ClaimResponse claim = claims.get(key.id());
+            if (claim != null && (status == null || claim.getStatus() == status)) {
+                page.add(claim);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+    
+    private record ClaimKey(LocalDateTime createdAt, long id) {
+    }
+}
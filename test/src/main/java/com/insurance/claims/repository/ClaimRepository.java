@@ -1,11 +1,22 @@
 package com.insurance.claims.repository;
 
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimStatsRow;
+import com.insurance.claims.dto.ClaimStatusRow;
 import com.insurance.claims.model.Claim;
 import com.insurance.claims.model.ClaimStatus;
 import com.insurance.claims.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,5 +36,133 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     List<Claim> findByUserOrderByCreatedAtDesc(User user);
     
     List<Claim> findAllByOrderByCreatedAtDesc();
+    
+    /**
+     * Read path: builds ClaimResponse straight from one joined select, so list calls
+     * issue a single statement and never put Claim/User entities in the persistence context
+     */
+    String CLAIM_RESPONSE_SELECT = "SELECT new com.insurance.claims.dto.ClaimResponse("
+            + "c.id, c.claimNumber, c.description, c.claimAmount, c.status, "
+            + "u.fullName, u.id, r.fullName, c.reviewComments, c.createdAt, c.reviewedAt, c.version, "
+            + "c.riskScore, c.riskFlags) "
+            + "FROM Claim c JOIN c.user u LEFT JOIN c.reviewedBy r ";
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.id = :id")
+    Optional<ClaimResponse> findResponseById(@Param("id") Long id);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.claimNumber = :claimNumber")
+    Optional<ClaimResponse> findResponseByClaimNumber(@Param("claimNumber") String claimNumber);
+    
+    /**
+     * Loads one page of search hits; rows come back in no particular order
+     */
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.id IN :ids")
+    List<ClaimResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Review as a single conditional UPDATE: only applies while the claim is still at the given
+     * version and in one of fromStatuses. Returns the number of rows changed.
+     * closedAt is the review time when the new status is final, otherwise null.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.status = :status, c.reviewComments = :reviewComments, "
+            + "c.reviewedBy = :reviewer, c.reviewedAt = :reviewedAt, c.closedAt = :closedAt, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.version = :version AND c.status IN :fromStatuses")
+    int reviewIfCurrent(@Param("id") Long id,
+                        @Param("version") Long version,
+                        @Param("fromStatuses") Collection<ClaimStatus> fromStatuses,
+                        @Param("status") ClaimStatus status,
+                        @Param("reviewComments") String reviewComments,
+                        @Param("reviewer") User reviewer,
+                        @Param("reviewedAt") LocalDateTime reviewedAt,
+                        @Param("closedAt") LocalDateTime closedAt);
+    
+    /**
+     * Set-based form of reviewIfCurrent for batch reviews; no version check
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.status = :status, c.reviewComments = :reviewComments, "
+            + "c.reviewedBy = :reviewer, c.reviewedAt = :reviewedAt, c.closedAt = :closedAt, c.version = c.version + 1 "
+            + "WHERE c.id IN :ids AND c.status = :fromStatus")
+    int reviewAllIfCurrent(@Param("ids") Collection<Long> ids,
+                           @Param("fromStatus") ClaimStatus fromStatus,
+                           @Param("status") ClaimStatus status,
+                           @Param("reviewComments") String reviewComments,
+                           @Param("reviewer") User reviewer,
+                           @Param("reviewedAt") LocalDateTime reviewedAt,
+                           @Param("closedAt") LocalDateTime closedAt);
+    
+    /**
+     * Current statuses, locked until the transaction ends so a batch review knows each claim's
+     * previous status for certain
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.insurance.claims.dto.ClaimStatusRow(c.id, c.status) FROM Claim c WHERE c.id IN :ids")
+    List<ClaimStatusRow> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Next claims for a batch review by status, newest first on idx_claims_status_created. Reviewed
+     * claims leave the status, so each call returns the ones not yet handled.
+     */
+    @Query("SELECT c.id FROM Claim c WHERE c.status = :status AND c.createdAt <= :asOf "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Long> findIdsByStatusCreatedUpTo(@Param("status") ClaimStatus status,
+                                          @Param("asOf") LocalDateTime asOf,
+                                          Pageable pageable);
+    
+    /**
+     * Next claims for the archiver, longest closed first, as a range read on idx_claims_closed
+     * Only final statuses set closedAt, so no status filter is needed (it would steer the planner
+     * to idx_claims_status_created and a sort).
+     */
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.closedAt < :closedBefore ORDER BY c.closedAt, c.id")
+    List<ClaimResponse> findClosedBefore(@Param("closedBefore") LocalDateTime closedBefore,
+                                         Pageable pageable);
+    
+    /**
+     * Removes archived claims; the status check keeps a claim that is not closed in the table
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Claim c WHERE c.id IN :ids AND c.status IN :statuses")
+    int deleteByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                @Param("statuses") Collection<ClaimStatus> statuses);
+    
+    @Query("SELECT new com.insurance.claims.dto.ClaimStatsRow(c.user.id, c.status, COUNT(c), SUM(c.claimAmount)) "
+            + "FROM Claim c GROUP BY c.user.id, c.status")
+    List<ClaimStatsRow> aggregateByUserAndStatus();
+    
+    // Keyset pagination: the page size comes from the Pageable, the position from (createdAt, id).
+    // The leading "createdAt <= :createdAt" keeps the predicate a range on the sort key.
+    
+    @Query(CLAIM_RESPONSE_SELECT + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findFirstPage(Pageable pageable);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.createdAt <= :createdAt "
+            + "AND (c.createdAt < :createdAt OR c.id < :id) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE u.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findFirstPageByUser(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE u.id = :userId AND c.createdAt <= :createdAt "
+            + "AND (c.createdAt < :createdAt OR c.id < :id) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findPageByUserAfter(@Param("userId") Long userId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findFirstPageByStatus(@Param("status") ClaimStatus status, Pageable pageable);
+    
+    @Query(CLAIM_RESPONSE_SELECT + "WHERE c.status = :status AND c.createdAt <= :createdAt "
+            + "AND (c.createdAt < :createdAt OR c.id < :id) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimResponse> findPageByStatusAfter(@Param("status") ClaimStatus status,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
 }
-
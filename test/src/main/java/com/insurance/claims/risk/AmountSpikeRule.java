@@ -0,0 +1,39 @@
+package com.insurance.claims.risk;
+
+import com.insurance.claims.model.RiskFlag;
+
+/**
+ * Fires when the amount is far above the mean of the user's recent claims
+ * Needs a few earlier claims to compare with; scores 50 at the spike factor and 70 from twice that.
+ */
+public class AmountSpikeRule implements RiskRule {
+    
+    static final int MIN_HISTORY = 3;
+    
+    private final double factor;
+    
+    public AmountSpikeRule(double factor) {
+        this.factor = factor;
+    }
+    
+    @Override
+    public RiskFlag flag() {
+        return RiskFlag.AMOUNT_SPIKE;
+    }
+    
+    @Override
+    public int score(ClaimSample candidate, UserClaimWindow history) {
+        if (history.size() < MIN_HISTORY) {
+            return 0;
+        }
+        long totalCents = 0;
+        for (int i = 0; i < history.size(); i++) {
+            totalCents += history.get(i).amountCents();
+        }
+        double mean = (double) totalCents / history.size();
+        if (mean <= 0 || candidate.amountCents() < factor * mean) {
+            return 0;
+        }
+        return candidate.amountCents() >= 2 * factor * mean ? 70 : 50;
+    }
+}
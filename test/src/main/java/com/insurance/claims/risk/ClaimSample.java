@@ -0,0 +1,11 @@
+package com.insurance.claims.risk;
+
+/**
+ * What the risk rules know about one claim
+ *
+ * @param claimId   null for a claim not saved yet: the one being scored, or a provisional sample of
+ *                  one scored earlier and still being saved
+ * @param signature MinHash signature of the description
+ */
+public record ClaimSample(Long claimId, long createdAtMillis, long amountCents, int[] signature) {
+}
@@ -0,0 +1,105 @@
+package com.insurance.claims.risk;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of claim text for near-duplicate detection
+ * Text is normalised to lowercase letters and digits separated by single spaces and cut into
+ * overlapping character shingles. Each signature slot keeps the minimum of one multiply-shift
+ * hash over all shingles, so the share of equal slots between two signatures estimates the
+ * Jaccard similarity of their shingle sets. Instances are immutable and thread-safe.
+ */
+public final class MinHash {
+    
+    static final int SHINGLE_LENGTH = 5;
+    
+    private final long[] multipliers;
+    private final long[] increments;
+    
+    public MinHash(int signatureLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        multipliers = new long[signatureLength];
+        increments = new long[signatureLength];
+        for (int i = 0; i < signatureLength; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+    
+    public int[] signature(String text) {
+        int[] signature = new int[multipliers.length];
+        char[] normalized = normalize(text);
+        int length = normalized.length;
+        if (length == 0) {
+            Arrays.fill(signature, Integer.MAX_VALUE);
+            return signature;
+        }
+        long[] hashes = new long[Math.max(1, length - SHINGLE_LENGTH + 1)];
+        for (int start = 0; start < hashes.length; start++) {
+            hashes[start] = shingleHash(normalized, start, Math.min(SHINGLE_LENGTH, length - start));
+        }
+        // One slot at a time keeps the inner loop a plain min-reduction the JIT can unroll
+        for (int i = 0; i < signature.length; i++) {
+            long multiplier = multipliers[i];
+            long increment = increments[i];
+            int min = Integer.MAX_VALUE;
+            for (long hash : hashes) {
+                min = Math.min(min, (int) ((multiplier * hash + increment) >>> 32));
+            }
+            signature[i] = min;
+        }
+        return signature;
+    }
+    
+    /**
+     * Estimated Jaccard similarity, between 0 and 1
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+    
+    private static char[] normalize(String text) {
+        if (text == null) {
+            return new char[0];
+        }
+        char[] normalized = new char[text.length()];
+        int length = 0;
+        boolean gap = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (gap && length > 0) {
+                    normalized[length++] = ' ';
+                }
+                normalized[length++] = Character.toLowerCase(c);
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        return Arrays.copyOf(normalized, length);
+    }
+    
+    /**
+     * FNV-1a over the shingle, finished with the MurmurHash3 mixer so nearby shingles spread out
+     */
+    private static long shingleHash(char[] text, int start, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < start + length; i++) {
+            hash = (hash ^ text[i]) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.claims.risk;
+
+import com.insurance.claims.model.RiskFlag;
+
+/**
+ * Fires when the description closely matches one of the user's recent claims
+ * A match at the similarity threshold scores 60, rising to 80 for identical text; a match with
+ * the same amount as well scores 90.
+ */
+public class NearDuplicateRule implements RiskRule {
+    
+    private final double threshold;
+    
+    public NearDuplicateRule(double threshold) {
+        this.threshold = threshold;
+    }
+    
+    @Override
+    public RiskFlag flag() {
+        return RiskFlag.NEAR_DUPLICATE;
+    }
+    
+    @Override
+    public int score(ClaimSample candidate, UserClaimWindow history) {
+        int best = 0;
+        for (int i = history.size() - 1; i >= 0; i--) {
+            ClaimSample previous = history.get(i);
+            double similarity = MinHash.similarity(candidate.signature(), previous.signature());
+            if (similarity < threshold) {
+                continue;
+            }
+            if (previous.amountCents() == candidate.amountCents()) {
+                return 90;
+            }
+            int score = 60 + (int) Math.round(20 * (similarity - threshold) / Math.max(1e-9, 1 - threshold));
+            best = Math.max(best, Math.min(80, score));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.claims.risk;
+
+import com.insurance.claims.model.RiskFlag;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Outcome of scoring one claim
+ *
+ * @param score    combined risk between 0 and 100
+ * @param flags    rules that fired
+ * @param complete false when some rules did not finish within the time budget and were left out
+ */
+public record RiskAssessment(int score, Set<RiskFlag> flags, boolean complete) {
+    
+    public static RiskAssessment none() {
+        return new RiskAssessment(0, EnumSet.noneOf(RiskFlag.class), true);
+    }
+}
@@ -0,0 +1,20 @@
+package com.insurance.claims.risk;
+
+import com.insurance.claims.model.RiskFlag;
+
+/**
+ * One independent check of a submitted claim against the user's recent history
+ * Implementations must be thread-safe and cheap: they run concurrently within a per-claim time budget.
+ */
+public interface RiskRule {
+    
+    /**
+     * Flag attached to the claim when the rule fires
+     */
+    RiskFlag flag();
+    
+    /**
+     * Risk between 0 and 100 that this rule sees in the candidate; 0 means the rule does not fire
+     */
+    int score(ClaimSample candidate, UserClaimWindow history);
+}
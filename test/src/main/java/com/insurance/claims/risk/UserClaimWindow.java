@@ -0,0 +1,97 @@
+package com.insurance.claims.risk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One user's most recent claims within the scoring window, oldest first
+ * Immutable: appending returns a new window, so rules read a consistent snapshot without locking
+ * while claims committed concurrently replace the user's entry.
+ * Besides committed claims the window holds provisional samples (no claim id) of claims scored but
+ * not yet committed. The committed claim replaces its provisional sample, matched on amount and
+ * signature; one whose claim never commits expires at provisionalCutoffMillis.
+ */
+public final class UserClaimWindow {
+    
+    public static final UserClaimWindow EMPTY = new UserClaimWindow(new ClaimSample[0]);
+    
+    private final ClaimSample[] samples;
+    
+    private UserClaimWindow(ClaimSample[] samples) {
+        this.samples = samples;
+    }
+    
+    /**
+     * Adds a committed claim, or a provisional sample when it has no id, dropping claims created before
+     * cutoffMillis, provisional samples taken before provisionalCutoffMillis and the oldest beyond
+     * maxSamples. A claim already in the window is not added twice.
+     */
+    public UserClaimWindow append(ClaimSample sample, long cutoffMillis, long provisionalCutoffMillis, int maxSamples) {
+        List<ClaimSample> kept = new ArrayList<>(samples.length + 1);
+        boolean replaced = sample.claimId() == null;
+        for (ClaimSample existing : samples) {
+            if (sample.claimId() != null && Objects.equals(existing.claimId(), sample.claimId())) {
+                return this;
+            }
+            if (!replaced && existing.claimId() == null && existing.amountCents() == sample.amountCents()
+                    && Arrays.equals(existing.signature(), sample.signature())) {
+                replaced = true;
+            } else if (isLive(existing, cutoffMillis, provisionalCutoffMillis)) {
+                kept.add(existing);
+            }
+        }
+        if (sample.createdAtMillis() >= cutoffMillis) {
+            kept.add(sample);
+        }
+        int from = Math.max(0, kept.size() - maxSamples);
+        return new UserClaimWindow(kept.subList(from, kept.size()).toArray(new ClaimSample[0]));
+    }
+    
+    /**
+     * The window without the samples append would drop for age
+     */
+    public UserClaimWindow expire(long cutoffMillis, long provisionalCutoffMillis) {
+        List<ClaimSample> kept = new ArrayList<>(samples.length);
+        for (ClaimSample existing : samples) {
+            if (isLive(existing, cutoffMillis, provisionalCutoffMillis)) {
+                kept.add(existing);
+            }
+        }
+        return kept.size() == samples.length ? this : new UserClaimWindow(kept.toArray(new ClaimSample[0]));
+    }
+    
+    public int size() {
+        return samples.length;
+    }
+    
+    public ClaimSample get(int index) {
+        return samples[index];
+    }
+    
+    public int countSince(long millis) {
+        int count = 0;
+        for (ClaimSample sample : samples) {
+            if (sample.createdAtMillis() >= millis) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static boolean isLive(ClaimSample sample, long cutoffMillis, long provisionalCutoffMillis) {
+        return sample.createdAtMillis() >= (sample.claimId() == null ? Math.max(cutoffMillis, provisionalCutoffMillis) : cutoffMillis);
+    }
+    
+    /**
+     * Creation time of the newest claim, or Long.MIN_VALUE when empty
+     */
+    public long newestMillis() {
+        long newest = Long.MIN_VALUE;
+        for (ClaimSample sample : samples) {
+            newest = Math.max(newest, sample.createdAtMillis());
+        }
+        return newest;
+    }
+}
@@ -0,0 +1,38 @@
+package com.insurance.claims.risk;
+
+import com.insurance.claims.model.RiskFlag;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires when the user exceeds the hourly or daily claim limit, the candidate included
+ * Scores 50 for the first claim over a limit and 10 more for each further one, up to 90.
+ * The daily count cannot see further back than the scoring window.
+ */
+public class VelocityRule implements RiskRule {
+    
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    
+    private final int maxPerHour;
+    private final int maxPerDay;
+    
+    public VelocityRule(int maxPerHour, int maxPerDay) {
+        this.maxPerHour = maxPerHour;
+        this.maxPerDay = maxPerDay;
+    }
+    
+    @Override
+    public RiskFlag flag() {
+        return RiskFlag.HIGH_VELOCITY;
+    }
+    
+    @Override
+    public int score(ClaimSample candidate, UserClaimWindow history) {
+        long now = candidate.createdAtMillis();
+        int overHourly = history.countSince(now - HOUR_MILLIS) + 1 - maxPerHour;
+        int overDaily = history.countSince(now - DAY_MILLIS) + 1 - maxPerDay;
+        int over = Math.max(overHourly, overDaily);
+        return over <= 0 ? 0 : Math.min(90, 40 + 10 * over);
+    }
+}
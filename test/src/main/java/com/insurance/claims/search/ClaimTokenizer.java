@@ -0,0 +1,63 @@
+package com.insurance.claims.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits claim text into lowercase terms for the search index
+ * Terms are runs of letters and digits. Runs joined by '-', '/', '.' or '_' also produce the
+ * joined term, so "rear-ended" yields rear, ended and rear-ended and a policy reference such as
+ * POL-2024/118 can be matched as a whole or by its parts.
+ */
+public final class ClaimTokenizer {
+    
+    static final int MAX_TERM_LENGTH = 64;
+    
+    private ClaimTokenizer() {
+    }
+    
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int compoundStart = i;
+            int parts = 0;
+            while (true) {
+                int partStart = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                    i++;
+                }
+                addTerm(terms, text, partStart, i);
+                parts++;
+                if (i + 1 < length && isConnector(text.charAt(i)) && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (parts > 1) {
+                addTerm(terms, text, compoundStart, i);
+            }
+        }
+        return terms;
+    }
+    
+    private static void addTerm(List<String> terms, String text, int start, int end) {
+        terms.add(text.substring(start, Math.min(end, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+    }
+    
+    private static boolean isConnector(char c) {
+        return c == '-' || c == '/' || c == '.' || c == '_';
+    }
+}
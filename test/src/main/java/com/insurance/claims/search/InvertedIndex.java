@@ -0,0 +1,494 @@
+package com.insurance.claims.search;
+
+import com.insurance.claims.model.ClaimStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Inverted index over claim descriptions and review comments, ranked with BM25
+ * Every indexed version of a claim is a document numbered in insertion order; a posting list
+ * is a pair of int arrays (document, term frequency) in ascending document order. Re-indexing a
+ * claim appends a new document and marks the old one dead, so writes never rewrite postings;
+ * dead documents are skipped when scoring and dropped when the index is rebuilt.
+ * Not thread-safe: callers serialise writes against reads.
+ */
+public class InvertedIndex {
+    
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // Reused by broad queries: allocating and zeroing a fresh array per query costs more than scoring
+    private final Queue<DenseBuffer> denseBuffers = new ConcurrentLinkedQueue<>();
+    private final LongIntMap docByClaim;
+    private final BitSet dead = new BitSet();
+    private long[] claimIds;
+    private int[] lengths;
+    private byte[] statuses;
+    private int docCount;
+    private int deadCount;
+    private long liveLength;
+    
+    public InvertedIndex(int expectedClaims) {
+        int capacity = Math.max(1024, expectedClaims);
+        docByClaim = new LongIntMap(capacity);
+        claimIds = new long[capacity];
+        lengths = new int[capacity];
+        statuses = new byte[capacity];
+    }
+    
+    /**
+     * Indexes the claim, replacing whatever was indexed for it before
+     */
+    public void upsert(long claimId, ClaimStatus status, String description, String reviewComments) {
+        int previous = docByClaim.get(claimId);
+        if (previous >= 0 && !dead.get(previous)) {
+            dead.set(previous);
+            deadCount++;
+            liveLength -= lengths[previous];
+        }
+        
+        List<String> terms = ClaimTokenizer.tokenize(description);
+        terms.addAll(ClaimTokenizer.tokenize(reviewComments));
+        if (docCount == claimIds.length) {
+            grow();
+        }
+        int doc = docCount++;
+        claimIds[doc] = claimId;
+        lengths[doc] = terms.size();
+        statuses[doc] = (byte) status.ordinal();
+        liveLength += terms.size();
+        docByClaim.put(claimId, doc);
+        
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+    }
+    
+    /**
+     * Ranks live claims matching any query term, best first (ties broken by newest claim id)
+     * Terms are scored rarest first. On the first page, once the limit-th best partial score beats
+     * the most the remaining terms could add to a claim not seen yet, those terms (typically very
+     * common words) only top up existing candidates instead of scanning for new ones (MaxScore).
+     * The result is the same; totalHits is then a lower bound.
+     *
+     * @param status       only claims currently in this status; null for all
+     * @param afterScore   with afterClaimId, the last hit of the previous page; null for the first page
+     * @param afterClaimId see afterScore
+     * @param limit        maximum hits returned
+     */
+    public SearchPage search(String query, ClaimStatus status, Float afterScore, Long afterClaimId, int limit) {
+        int liveDocs = docCount - deadCount;
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(ClaimTokenizer.tokenize(query))) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty() || liveDocs == 0) {
+            return new SearchPage(List.of(), 0, true);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        
+        // Posting lists hold dead documents until compaction, so document frequencies are relative to all
+        // documents; relative to live ones only, a common term in re-indexed claims would score below zero
+        float[] idfs = new float[lists.size()];
+        float[] remainingBound = new float[lists.size() + 1];
+        for (int i = 0; i < lists.size(); i++) {
+            idfs[i] = (float) Math.log(1 + (docCount - lists.get(i).size + 0.5) / (lists.get(i).size + 0.5));
+        }
+        // Most each remaining term can add: BM25's term frequency part stays below K1 + 1
+        for (int i = lists.size() - 1; i >= 0; i--) {
+            remainingBound[i] = remainingBound[i + 1] + idfs[i] * (K1 + 1);
+        }
+        
+        Scorer scorer = new Scorer(Math.max(1f, (float) liveLength / liveDocs));
+        ScoreAccumulator scores = new ScoreAccumulator(docCount, lists.get(0).size, denseBuffers);
+        try {
+            return rank(lists, idfs, remainingBound, scorer, scores, status, afterScore, afterClaimId, limit);
+        } finally {
+            scores.release();
+        }
+    }
+    
+    private SearchPage rank(List<PostingList> lists, float[] idfs, float[] remainingBound, Scorer scorer,
+                            ScoreAccumulator scores, ClaimStatus status, Float afterScore, Long afterClaimId, int limit) {
+        boolean exhaustive = true;
+        for (int i = 0; i < lists.size(); i++) {
+            PostingList list = lists.get(i);
+            if (exhaustive && afterScore == null && i > 0 && scores.touchedCount >= limit
+                    && scores.kthBest(limit) > remainingBound[i]) {
+                exhaustive = false;
+            }
+            if (exhaustive) {
+                for (int p = 0; p < list.size; p++) {
+                    int doc = list.docs[p];
+                    if (dead.get(doc) || (status != null && statuses[doc] != status.ordinal())) {
+                        continue;
+                    }
+                    scores.add(doc, scorer.score(idfs[i], list.frequencies[p], lengths[doc]));
+                }
+            } else if ((long) scores.touchedCount * 32 < list.size) {
+                // Few candidates against a long list: look each one up
+                for (int c = 0; c < scores.touchedCount; c++) {
+                    int doc = scores.touched[c];
+                    int p = Arrays.binarySearch(list.docs, 0, list.size, doc);
+                    if (p >= 0) {
+                        scores.add(doc, scorer.score(idfs[i], list.frequencies[p], lengths[doc]));
+                    }
+                }
+            } else {
+                for (int p = 0; p < list.size; p++) {
+                    int doc = list.docs[p];
+                    if (scores.contains(doc)) {
+                        scores.add(doc, scorer.score(idfs[i], list.frequencies[p], lengths[doc]));
+                    }
+                }
+            }
+        }
+        
+        TopHits top = new TopHits(limit, afterScore, afterClaimId);
+        if (scores.dense != null) {
+            // Sequential pass over the array rather than jumping around it in first-scored order
+            float[] dense = scores.dense;
+            for (int doc = scores.docCount - 1; doc >= 0; doc--) {
+                if (dense[doc] != 0f && top.admits(dense[doc])) {
+                    top.offer(claimIds[doc], dense[doc]);
+                }
+            }
+        } else {
+            for (int i = scores.touchedCount - 1; i >= 0; i--) {
+                int doc = scores.touched[i];
+                float score = scores.get(doc);
+                if (top.admits(score)) {
+                    top.offer(claimIds[doc], score);
+                }
+            }
+        }
+        return new SearchPage(top.ranked(), scores.touchedCount, exhaustive);
+    }
+    
+    public int liveDocuments() {
+        return docCount - deadCount;
+    }
+    
+    public int deadDocuments() {
+        return deadCount;
+    }
+    
+    public int terms() {
+        return postings.size();
+    }
+    
+    private void grow() {
+        int capacity = claimIds.length + (claimIds.length >> 1);
+        claimIds = Arrays.copyOf(claimIds, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+    
+    public record ScoredClaim(long claimId, float score) {
+    }
+    
+    /**
+     * @param totalHits      matching claims across all pages
+     * @param totalHitsExact false when scoring was cut short and totalHits is a lower bound
+     */
+    public record SearchPage(List<ScoredClaim> hits, int totalHits, boolean totalHitsExact) {
+    }
+    
+    /**
+     * The best `limit` hits ranked below the cursor, held in a min-heap with the worst on top
+     * Candidates are offered newest document first, so the many equal scores of a broad query
+     * rarely displace a hit already held; admits() rejects most candidates on the score alone.
+     */
+    private static final class TopHits {
+        
+        private final int limit;
+        private final Float afterScore;
+        private final Long afterClaimId;
+        private final PriorityQueue<ScoredClaim> heap;
+        private float minScore = Float.NEGATIVE_INFINITY;
+        
+        private TopHits(int limit, Float afterScore, Long afterClaimId) {
+            this.limit = limit;
+            this.afterScore = afterScore;
+            this.afterClaimId = afterClaimId;
+            this.heap = new PriorityQueue<>(limit + 1, TopHits::compareRank);
+        }
+        
+        private boolean admits(float score) {
+            return score >= minScore && (afterScore == null || score <= afterScore);
+        }
+        
+        private void offer(long claimId, float score) {
+            if (afterScore != null && !ranksAbove(afterScore, afterClaimId, score, claimId)) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(new ScoredClaim(claimId, score));
+            } else if (ranksAbove(score, claimId, heap.peek().score(), heap.peek().claimId())) {
+                heap.poll();
+                heap.add(new ScoredClaim(claimId, score));
+            } else {
+                return;
+            }
+            if (heap.size() == limit) {
+                minScore = heap.peek().score();
+            }
+        }
+        
+        private List<ScoredClaim> ranked() {
+            ScoredClaim[] hits = heap.toArray(new ScoredClaim[0]);
+            Arrays.sort(hits, (a, b) -> compareRank(b, a));
+            return List.of(hits);
+        }
+        
+        /**
+         * Positive when a ranks above b
+         */
+        private static int compareRank(ScoredClaim a, ScoredClaim b) {
+            int byScore = Float.compare(a.score(), b.score());
+            return byScore != 0 ? byScore : Long.compare(a.claimId(), b.claimId());
+        }
+        
+        private static boolean ranksAbove(float score, long claimId, float otherScore, long otherClaimId) {
+            return score > otherScore || (score == otherScore && claimId > otherClaimId);
+        }
+    }
+    
+    /**
+     * BM25 term weight for one query; the average document length is fixed per query
+     */
+    private static final class Scorer {
+        
+        private final float lengthFactor;
+        
+        private Scorer(float averageLength) {
+            this.lengthFactor = B / averageLength;
+        }
+        
+        private float score(float idf, int frequency, int length) {
+            float norm = K1 * (1 - B + lengthFactor * length);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+    
+    private static final class PostingList {
+        
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        
+        private void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+    
+    /**
+     * Per-query document scores. Starts as an open-addressing table sized to the rarest term and
+     * switches to a dense array indexed by document once the candidates reach a sixteenth of the
+     * index, where the array is both smaller and faster. touched lists the candidates in the order
+     * they were first scored.
+     */
+    private static final class ScoreAccumulator {
+        
+        private static final int POOLED_BUFFERS = 4;
+        
+        private final int docCount;
+        private final Queue<DenseBuffer> pool;
+        private DenseBuffer buffer;
+        private float[] dense;
+        private int[] keys;
+        private float[] values;
+        private int[] touched;
+        private int touchedCount;
+        
+        private ScoreAccumulator(int docCount, int firstListSize, Queue<DenseBuffer> pool) {
+            this.docCount = docCount;
+            this.pool = pool;
+            if (firstListSize > docCount / 16) {
+                useDenseBuffer();
+            } else {
+                int capacity = tableCapacity(firstListSize);
+                keys = new int[capacity];
+                values = new float[capacity];
+                Arrays.fill(keys, -1);
+                touched = new int[Math.max(16, firstListSize)];
+            }
+        }
+        
+        private void add(int doc, float score) {
+            if (dense != null) {
+                if (dense[doc] == 0f) {
+                    touched[touchedCount++] = doc;
+                }
+                dense[doc] += score;
+                return;
+            }
+            int slot = slot(doc);
+            if (keys[slot] < 0) {
+                if ((touchedCount + 1) * 2 > keys.length) {
+                    grow();
+                    add(doc, score);
+                    return;
+                }
+                keys[slot] = doc;
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = doc;
+            }
+            values[slot] += score;
+        }
+        
+        private boolean contains(int doc) {
+            return dense != null ? dense[doc] != 0f : keys[slot(doc)] >= 0;
+        }
+        
+        private float get(int doc) {
+            return dense != null ? dense[doc] : values[slot(doc)];
+        }
+        
+        /**
+         * The k-th highest score among the candidates (k <= touchedCount)
+         */
+        private float kthBest(int k) {
+            // Min-heap of the k best scores
+            float[] heap = new float[k];
+            int size = 0;
+            // Dense scores are read in array order; zero means not a candidate
+            int candidates = dense != null ? docCount : touchedCount;
+            for (int i = 0; i < candidates; i++) {
+                float score = dense != null ? dense[i] : get(touched[i]);
+                if (score == 0f) {
+                    continue;
+                }
+                if (size < k) {
+                    heap[size] = score;
+                    for (int child = size++; child > 0 && heap[(child - 1) / 2] > heap[child]; child = (child - 1) / 2) {
+                        float swap = heap[child];
+                        heap[child] = heap[(child - 1) / 2];
+                        heap[(child - 1) / 2] = swap;
+                    }
+                } else if (score > heap[0]) {
+                    heap[0] = score;
+                    for (int parent = 0; ; ) {
+                        int smallest = parent;
+                        int left = 2 * parent + 1;
+                        int right = left + 1;
+                        if (left < k && heap[left] < heap[smallest]) {
+                            smallest = left;
+                        }
+                        if (right < k && heap[right] < heap[smallest]) {
+                            smallest = right;
+                        }
+                        if (smallest == parent) {
+                            break;
+                        }
+                        float swap = heap[parent];
+                        heap[parent] = heap[smallest];
+                        heap[smallest] = swap;
+                        parent = smallest;
+                    }
+                }
+            }
+            return heap[0];
+        }
+        
+        private void grow() {
+            float[] scores = new float[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                scores[i] = get(touched[i]);
+            }
+            if (keys.length * 2 > docCount / 8) {
+                int[] candidates = touched;
+                useDenseBuffer();
+                for (int i = 0; i < touchedCount; i++) {
+                    dense[candidates[i]] = scores[i];
+                    touched[i] = candidates[i];
+                }
+                keys = null;
+                values = null;
+                return;
+            }
+            keys = new int[keys.length * 2];
+            values = new float[values.length * 2];
+            Arrays.fill(keys, -1);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = slot(touched[i]);
+                keys[slot] = touched[i];
+                values[slot] = scores[i];
+            }
+        }
+        
+        private void useDenseBuffer() {
+            buffer = pool.poll();
+            if (buffer == null || buffer.scores.length < docCount) {
+                buffer = new DenseBuffer(docCount);
+            }
+            dense = buffer.scores;
+            touched = buffer.touched;
+        }
+        
+        /**
+         * Hands a dense buffer back zeroed; only the candidates' entries need clearing
+         */
+        private void release() {
+            if (buffer == null) {
+                return;
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                dense[touched[i]] = 0f;
+            }
+            if (pool.size() < POOLED_BUFFERS) {
+                pool.offer(buffer);
+            }
+            buffer = null;
+        }
+        
+        private int slot(int doc) {
+            int mask = keys.length - 1;
+            int slot = (doc * 0x9E3779B9 >>> 7) & mask;
+            while (keys[slot] >= 0 && keys[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+        
+        private static int tableCapacity(int expected) {
+            return Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        }
+    }
+    
+    private static final class DenseBuffer {
+        
+        private final float[] scores;
+        private final int[] touched;
+        
+        private DenseBuffer(int docCount) {
+            scores = new float[docCount];
+            touched = new int[docCount];
+        }
+    }
+}
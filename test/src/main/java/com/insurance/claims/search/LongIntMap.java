@@ -0,0 +1,77 @@
+package com.insurance.claims.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long ids to int values (claim id to document or row number), without boxing
+ * Millions of entries would otherwise cost a Long, an Integer and a map node each. Not thread-safe.
+ */
+public final class LongIntMap {
+    
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    private long[] keys;
+    private int[] values;
+    private int size;
+    
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    /**
+     * @return the value, or -1 when the key is absent
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+    
+    public void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,199 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.analytics.AmountAggregation;
+import com.insurance.claims.analytics.AmountGroups;
+import com.insurance.claims.analytics.ClaimColumns;
+import com.insurance.claims.analytics.GroupBy;
+import com.insurance.claims.dto.AmountAggregate;
+import com.insurance.claims.dto.AmountAnalyticsResponse;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim amount analytics (sum, average, p95) by status, day and user cohort over the whole history
+ * Claims are mirrored into ClaimColumns, loaded at startup (archived ones included) and kept current
+ * by every committed create, import and review, so queries never touch the database. Aggregations run
+ * on a dedicated fork/join pool, one task per segment, so they do not compete with the common pool.
+ */
+@Slf4j
+@Service
+public class ClaimAnalyticsService implements DisposableBean {
+    
+    // Scale of the claim_amount column
+    private static final int AMOUNT_SCALE = 2;
+    
+    private final SessionFactory sessionFactory;
+    private final ClaimArchiveService claimArchive;
+    private final ClaimColumns columns = new ClaimColumns();
+    private final ForkJoinPool pool;
+    private final AmountAggregation aggregation;
+    private final Map<GroupBy, Timer> queryTimers = new EnumMap<>(GroupBy.class);
+    
+    @Value("${claims.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ClaimAnalyticsService(EntityManagerFactory entityManagerFactory, ClaimArchiveService claimArchive,
+                                 MeterRegistry meterRegistry, @Value("${claims.analytics.parallelism:0}") int parallelism) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.claimArchive = claimArchive;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("claims-analytics-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+        this.aggregation = new AmountAggregation(pool);
+        for (GroupBy groupBy : GroupBy.values()) {
+            queryTimers.put(groupBy, Timer.builder("claims.analytics.query")
+                    .description("Time to aggregate claim amounts")
+                    .tag("groupBy", groupBy.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("claims.analytics.rows", columns, ClaimColumns::size)
+                .description("Claims mirrored into the analytics columns")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Creates, imports and reviews all carry the full claim; a review of a claim not yet loaded adds it
+     */
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        ClaimResponse claim = event.claim();
+        columns.put(claim.getId(), claim.getUserId(), toCents(claim.getClaimAmount()),
+                claim.getCreatedAt().toLocalDate(), claim.getStatus(), claim.getVersion());
+    }
+    
+    /**
+     * Changes committed while loading are applied by the listener as well; a claim present on both
+     * sides keeps the status of its newer version
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        // Archived claims first: they are the oldest, and a user's cohort comes from their earliest claim
+        long archived = claimArchive.size();
+        loadArchive();
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<Object[]> rows = session
+                     .createQuery("SELECT c.id, c.user.id, c.claimAmount, c.status, c.createdAt, c.version FROM Claim c ORDER BY c.id", Object[].class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                columns.put((Long) row[0], (Long) row[1], toCents((BigDecimal) row[2]),
+                        ((LocalDateTime) row[4]).toLocalDate(), (ClaimStatus) row[3], (Long) row[5]);
+            }
+        }
+        // A segment is written before its claims leave the table, so one archived during the scan shows
+        // here; put keeps one row for a claim met on both sides
+        if (claimArchive.size() != archived) {
+            loadArchive();
+        }
+        log.info("Claim analytics loaded: {} claims in {} ms", columns.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private void loadArchive() {
+        claimArchive.stream().forEach(claim -> columns.put(claim.getId(), claim.getUserId(), toCents(claim.getClaimAmount()),
+                claim.getCreatedAt().toLocalDate(), claim.getStatus(), claim.getVersion()));
+    }
+    
+    /**
+     * Null filter values match everything; from is inclusive and to exclusive, both on the creation date
+     */
+    public AmountAnalyticsResponse amounts(GroupBy groupBy, LocalDate from, LocalDate to, ClaimStatus status, Long userId) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        long start = System.nanoTime();
+        AmountGroups result = aggregation.aggregate(columns, groupBy,
+                from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE,
+                to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE,
+                status, userId);
+        
+        List<AmountAggregate> groups = new ArrayList<>();
+        long totalCount = 0;
+        long totalCents = 0;
+        for (int g = 0; g < result.size(); g++) {
+            long count = result.counts()[g];
+            if (count == 0) {
+                continue;
+            }
+            long cents = result.cents()[g];
+            groups.add(AmountAggregate.builder()
+                    .key(keyOf(groupBy, result.base() + g))
+                    .count(count)
+                    .totalAmount(toAmount(cents))
+                    .averageAmount(toAmount(cents).divide(BigDecimal.valueOf(count), AMOUNT_SCALE, RoundingMode.HALF_UP))
+                    .p95Amount(toAmount(result.p95Cents()[g]))
+                    .build());
+            totalCount += count;
+            totalCents += cents;
+        }
+        long elapsed = System.nanoTime() - start;
+        queryTimers.get(groupBy).record(elapsed, TimeUnit.NANOSECONDS);
+        return AmountAnalyticsResponse.builder()
+                .groupBy(groupBy)
+                .from(from)
+                .to(to)
+                .status(status)
+                .userId(userId)
+                .totalCount(totalCount)
+                .totalAmount(toAmount(totalCents))
+                .groups(groups)
+                .scannedRows(result.scannedRows())
+                .elapsedMillis(elapsed / 1_000_000)
+                .build();
+    }
+    
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+    
+    private static String keyOf(GroupBy groupBy, int group) {
+        return switch (groupBy) {
+            case STATUS -> ClaimStatus.values()[group].name();
+            case DAY -> LocalDate.ofEpochDay(group).toString();
+            case COHORT -> YearMonth.of(1970 + group / 12, group % 12 + 1).toString();
+        };
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, AMOUNT_SCALE);
+    }
+}
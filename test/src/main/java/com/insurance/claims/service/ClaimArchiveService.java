@@ -0,0 +1,211 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.archive.ArchiveSegment;
+import com.insurance.claims.archive.ArchiveSegmentWriter;
+import com.insurance.claims.archive.ClaimArchive;
+import com.insurance.claims.config.ArchiveProperties;
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimStatsRow;
+import com.insurance.claims.event.ClaimsArchivedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.repository.ClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves closed claims out of the claims table into the archive (see ArchiveSegment)
+ * Each run picks approved and rejected claims closed longer than claims.archive.min-age, writes them
+ * to a new segment file, and only once the file is on disk deletes them from the table, in one
+ * transaction per segment. The read model drops them after that commit; every other read falls
+ * through to the archive, so archived claims stay visible by id, by number, in listings, statistics,
+ * analytics, search and export. Closed claims are final, so nothing can change them mid-move.
+ */
+@Slf4j
+@Service
+public class ClaimArchiveService {
+    
+    private static final Set<ClaimStatus> CLOSED = Set.of(ClaimStatus.APPROVED, ClaimStatus.REJECTED);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".claims";
+    private static final int DELETE_CHUNK = 1000;
+    
+    private final ClaimRepository claimRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+    private final ClaimArchive archive = new ClaimArchive();
+    private final AtomicBoolean archiving = new AtomicBoolean();
+    private final Counter archived;
+    private final Timer runTimer;
+    private long nextSequence;
+    
+    public ClaimArchiveService(ClaimRepository claimRepository, TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher, ArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.archived = Counter.builder("claims.archive.archived")
+                .description("Claims moved from the claims table into the archive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("claims.archive.run")
+                .description("Duration of archiving runs")
+                .register(meterRegistry);
+        Gauge.builder("claims.archive.claims", archive, ClaimArchive::size)
+                .description("Claims held in archive segments")
+                .register(meterRegistry);
+        Gauge.builder("claims.archive.segments", archive, ClaimArchive::segmentCount)
+                .description("Archive segment files")
+                .register(meterRegistry);
+        // Opened up front: the statistics, analytics and search loaders read it at startup
+        openSegments();
+    }
+    
+    @Scheduled(initialDelayString = "${claims.archive.interval-ms:600000}",
+            fixedDelayString = "${claims.archive.interval-ms:600000}")
+    public void archiveClosedClaims() {
+        if (!properties.isEnabled() || !archiving.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        long moved = 0;
+        try {
+            LocalDateTime closedBefore = LocalDateTime.now().minus(properties.getMinAge());
+            List<ClaimResponse> claims;
+            do {
+                claims = claimRepository.findClosedBefore(closedBefore, PageRequest.of(0, properties.getSegmentClaims()));
+                if (!claims.isEmpty()) {
+                    moved += archive(claims);
+                }
+            } while (claims.size() == properties.getSegmentClaims());
+            if (moved > 0) {
+                log.info("Archived {} closed claims in {} ms ({} claims in {} segments)", moved,
+                        (System.nanoTime() - start) / 1_000_000, archive.size(), archive.segmentCount());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Archiving stopped after {} claims: {}", moved, ex.getMessage());
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            archiving.set(false);
+        }
+    }
+    
+    /**
+     * Writes the claims to a new segment (in id order, as segments require), then removes them from the table
+     */
+    private int archive(List<ClaimResponse> oldestClosed) {
+        List<ClaimResponse> claims = oldestClosed.stream().sorted(Comparator.comparing(ClaimResponse::getId)).collect(Collectors.toList());
+        // An interrupted run may have written some of them already
+        Set<Long> alreadyArchived = archive.findAll(claims.stream().map(ClaimResponse::getId).collect(Collectors.toList()))
+                .stream().map(ClaimResponse::getId).collect(Collectors.toSet());
+        List<ClaimResponse> toWrite = alreadyArchived.isEmpty() ? claims : claims.stream()
+                .filter(claim -> !alreadyArchived.contains(claim.getId()))
+                .collect(Collectors.toList());
+        if (!toWrite.isEmpty()) {
+            Path file = properties.getDirectory().resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+            try {
+                ArchiveSegmentWriter.write(file, toWrite);
+                archive.add(ArchiveSegment.open(file));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to write archive segment " + file, ex);
+            }
+            nextSequence++;
+        }
+        
+        List<Long> ids = claims.stream().map(ClaimResponse::getId).collect(Collectors.toList());
+        int deleted = transactionTemplate.execute(status -> {
+            int rows = 0;
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+                rows += claimRepository.deleteByIdInAndStatusIn(ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size())), CLOSED);
+            }
+            eventPublisher.publishEvent(new ClaimsArchivedEvent(claims));
+            return rows;
+        });
+        archived.increment(deleted);
+        return deleted;
+    }
+    
+    public Optional<ClaimResponse> findById(Long id) {
+        return Optional.ofNullable(archive.get(id));
+    }
+    
+    public Optional<ClaimResponse> findByClaimNumber(String claimNumber) {
+        return Optional.ofNullable(archive.getByClaimNumber(claimNumber));
+    }
+    
+    public List<ClaimResponse> findAll(Collection<Long> ids) {
+        return archive.findAll(ids);
+    }
+    
+    /**
+     * Up to limit archived claims after the cursor, newest first; null filters match everything
+     */
+    public List<ClaimResponse> page(ClaimCursor after, Long userId, ClaimStatus status, int limit) {
+        return archive.page(after, userId, status, limit);
+    }
+    
+    public Stream<ClaimResponse> stream() {
+        return archive.stream();
+    }
+    
+    public List<ClaimStatsRow> aggregateByUserAndStatus() {
+        return archive.aggregateByUserAndStatus();
+    }
+    
+    public long size() {
+        return archive.size();
+    }
+    
+    private void openSegments() {
+        Path directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+                entries.forEach(files::add);
+            }
+            files.sort(null);
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(SEGMENT_SUFFIX) || properties.isClearOnStartup()) {
+                    // Leftover temporary files, or every segment when starting over
+                    Files.delete(file);
+                    continue;
+                }
+                archive.add(ArchiveSegment.open(file));
+                long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open claim archive in " + directory, ex);
+        }
+        log.info("Claim archive opened: {} claims in {} segments under {}", archive.size(), archive.segmentCount(), directory);
+    }
+}
@@ -0,0 +1,194 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimBatchReviewRequest;
+import com.insurance.claims.dto.ClaimBatchReviewResponse;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimReviewOutcome;
+import com.insurance.claims.dto.ClaimStatusRow;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.ClaimsReviewedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.User;
+import com.insurance.claims.repository.ClaimRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for admin reviews applied to many claims at once
+ * Claims are handled in chunks, one transaction per chunk. A chunk locks its claims' rows, then
+ * moves them with one set-based UPDATE per current status and reads the results back with one
+ * query, instead of a read, update and notification per claim. Claims that do not exist or whose
+ * status does not allow the change fail on their own; a database error fails its chunk only.
+ * Owners get one notification per batch listing their reviewed claims.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimBatchReviewService {
+    
+    private final ClaimRepository claimRepository;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${claims.review.batch.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${claims.review.batch.max-claims:10000}")
+    private int maxClaims;
+    
+    public ClaimBatchReviewResponse reviewClaims(ClaimBatchReviewRequest request) {
+        boolean byIds = request.getClaimIds() != null && !request.getClaimIds().isEmpty();
+        if (byIds == (request.getFromStatus() != null)) {
+            throw new RuntimeException("Select claims with either claimIds or fromStatus");
+        }
+        ClaimStatus target = request.getStatus();
+        if (!byIds && !request.getFromStatus().canTransitionTo(target)) {
+            throw new RuntimeException(String.format("Claims cannot move from %s to %s", request.getFromStatus(), target));
+        }
+        List<Long> ids = new ArrayList<>();
+        if (byIds) {
+            ids.addAll(new LinkedHashSet<>(request.getClaimIds()));
+            if (ids.size() > maxClaims) {
+                throw new RuntimeException("At most " + maxClaims + " claims can be reviewed at once");
+            }
+            if (ids.contains(null)) {
+                throw new RuntimeException("Claim ids must not be null");
+            }
+        }
+        User admin = userService.getUserById(request.getAdminId());
+        
+        long start = System.nanoTime();
+        LocalDateTime reviewedAt = LocalDateTime.now();
+        List<ClaimReviewOutcome> results = new ArrayList<>();
+        if (byIds) {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                reviewChunk(ids.subList(from, Math.min(from + chunkSize, ids.size())), request, admin, reviewedAt, results);
+            }
+        } else {
+            // Claims submitted after the batch started are left alone
+            int remaining = maxClaims;
+            while (remaining > 0) {
+                List<Long> chunk = claimRepository.findIdsByStatusCreatedUpTo(request.getFromStatus(), reviewedAt,
+                        PageRequest.of(0, Math.min(chunkSize, remaining)));
+                // A failed chunk would be selected again
+                if (chunk.isEmpty() || !reviewChunk(chunk, request, admin, reviewedAt, results)) {
+                    break;
+                }
+                remaining -= chunk.size();
+            }
+        }
+        
+        Map<Long, List<String>> claimNumbersPerUser = results.stream()
+                .filter(ClaimReviewOutcome::isSuccess)
+                .collect(Collectors.groupingBy(outcome -> outcome.getClaim().getUserId(), LinkedHashMap::new,
+                        Collectors.mapping(outcome -> outcome.getClaim().getClaimNumber(), Collectors.toList())));
+        if (!claimNumbersPerUser.isEmpty()) {
+            eventPublisher.publishEvent(new ClaimsReviewedEvent(target, claimNumbersPerUser));
+        }
+        
+        long elapsedNanos = System.nanoTime() - start;
+        int updated = (int) results.stream().filter(ClaimReviewOutcome::isSuccess).count();
+        log.info("Batch review moved {} of {} claims to {} in {} ms", updated, results.size(), target, elapsedNanos / 1_000_000);
+        return ClaimBatchReviewResponse.builder()
+                .matched(results.size())
+                .updated(updated)
+                .failed(results.size() - updated)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .results(results)
+                .build();
+    }
+    
+    /**
+     * Returns false if the chunk's transaction failed
+     */
+    private boolean reviewChunk(List<Long> ids, ClaimBatchReviewRequest request, User admin, LocalDateTime reviewedAt,
+                                List<ClaimReviewOutcome> results) {
+        ClaimStatus target = request.getStatus();
+        try {
+            List<ClaimReviewOutcome> outcomes = transactionTemplate.execute(tx -> {
+                Map<Long, ClaimStatus> previous = claimRepository.lockStatusesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(ClaimStatusRow::id, ClaimStatusRow::status));
+                Map<ClaimStatus, List<Long>> movable = new EnumMap<>(ClaimStatus.class);
+                for (Long id : ids) {
+                    ClaimStatus status = previous.get(id);
+                    if (status != null && status.canTransitionTo(target)) {
+                        movable.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+                    }
+                }
+                if (movable.isEmpty()) {
+                    return ids.stream().map(id -> notMoved(id, previous.get(id), target)).collect(Collectors.toList());
+                }
+                
+                List<Long> moved = new ArrayList<>();
+                movable.forEach((fromStatus, claimIds) -> {
+                    int updated = claimRepository.reviewAllIfCurrent(claimIds, fromStatus, target,
+                            request.getReviewComments(), admin, reviewedAt, target.isFinal() ? reviewedAt : null);
+                    // The rows are locked, so anything else means the statement did not do what we think
+                    if (updated != claimIds.size()) {
+                        throw new IllegalStateException(String.format("Expected %d claims in %s to move, %d did",
+                                claimIds.size(), fromStatus, updated));
+                    }
+                    moved.addAll(claimIds);
+                });
+                Map<Long, ClaimResponse> claims = claimRepository.findResponsesByIdIn(moved).stream()
+                        .collect(Collectors.toMap(ClaimResponse::getId, Function.identity()));
+                
+                List<ClaimReviewOutcome> chunkOutcomes = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    ClaimResponse claim = claims.get(id);
+                    if (claim == null) {
+                        chunkOutcomes.add(notMoved(id, previous.get(id), target));
+                        continue;
+                    }
+                    // Owners are notified by the batch summary; statistics and search pick up each claim
+                    eventPublisher.publishEvent(ClaimChangedEvent.bulkReviewed(claim, previous.get(id)));
+                    chunkOutcomes.add(ClaimReviewOutcome.builder()
+                            .claimId(id)
+                            .success(true)
+                            .previousStatus(previous.get(id))
+                            .claim(claim)
+                            .build());
+                }
+                return chunkOutcomes;
+            });
+            results.addAll(outcomes);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Batch review chunk of {} claims failed: {}", ids.size(), ex.getMessage());
+            ids.forEach(id -> results.add(ClaimReviewOutcome.builder()
+                    .claimId(id)
+                    .success(false)
+                    .error("Chunk update failed: " + ex.getMessage())
+                    .build()));
+            return false;
+        }
+    }
+    
+    private static ClaimReviewOutcome notMoved(Long id, ClaimStatus status, ClaimStatus target) {
+        String error = status == null
+                ? "Claim not found with id: " + id
+                : String.format("Claim %d cannot move from %s to %s", id, status, target);
+        return ClaimReviewOutcome.builder()
+                .claimId(id)
+                .success(false)
+                .previousStatus(status)
+                .error(error)
+                .build();
+    }
+}
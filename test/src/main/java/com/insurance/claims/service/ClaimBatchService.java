@@ -0,0 +1,257 @@
+package com.insurance.claims.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.insurance.claims.dto.ClaimBatchItemResult;
+import com.insurance.claims.dto.ClaimBatchResponse;
+import com.insurance.claims.dto.ClaimRequest;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.ClaimsImportedEvent;
+import com.insurance.claims.model.Claim;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.User;
+import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk claim ingestion
+ * Claims are written in chunks, one transaction per chunk, so Hibernate can send the inserts
+ * as JDBC batches (see hibernate.jdbc.batch_size). A bad item fails on its own and never
+ * rolls back its neighbours; only a database error fails the whole chunk it belongs to.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimBatchService {
+    
+    private final ClaimRepository claimRepository;
+    private final UserRepository userRepository;
+    private final ClaimService claimService;
+    private final ClaimNumberGenerator claimNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${claims.batch.chunk-size:1000}")
+    private int chunkSize;
+    
+    public ClaimBatchResponse createClaims(List<ClaimRequest> requests) {
+        return ingest(requests.stream().map(ParsedItem::of).iterator());
+    }
+    
+    /**
+     * Reads one JSON claim per line; blank lines are skipped, malformed lines become failed items
+     */
+    public ClaimBatchResponse createClaims(BufferedReader ndjson) {
+        ObjectReader reader = objectMapper.readerFor(ClaimRequest.class);
+        Iterator<ParsedItem> items = new Iterator<>() {
+            private String next = advance();
+            
+            private String advance() {
+                try {
+                    String line;
+                    do {
+                        line = ndjson.readLine();
+                    } while (line != null && line.isBlank());
+                    return line;
+                } catch (IOException ex) {
+                    throw new RuntimeException("Failed to read claim stream: " + ex.getMessage());
+                }
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            
+            @Override
+            public ParsedItem next() {
+                String line = next;
+                next = advance();
+                try {
+                    return ParsedItem.of(reader.readValue(line));
+                } catch (JsonProcessingException ex) {
+                    return ParsedItem.error("Malformed claim: " + ex.getOriginalMessage());
+                }
+            }
+        };
+        return ingest(items);
+    }
+    
+    private ClaimBatchResponse ingest(Iterator<ParsedItem> items) {
+        long start = System.nanoTime();
+        List<ClaimBatchItemResult> results = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        Set<Long> missingUsers = new HashSet<>();
+        List<PendingClaim> chunk = new ArrayList<>(chunkSize);
+        
+        int index = 0;
+        while (items.hasNext()) {
+            ParsedItem item = items.next();
+            String error = item.error() != null ? item.error() : validate(item.request());
+            if (error != null) {
+                results.add(failure(index, error));
+            } else {
+                chunk.add(new PendingClaim(index, item.request()));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, users, missingUsers, results);
+                    chunk.clear();
+                }
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, users, missingUsers, results);
+        }
+        
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        long elapsedNanos = System.nanoTime() - start;
+        int created = (int) results.stream().filter(ClaimBatchItemResult::isSuccess).count();
+        double claimsPerSecond = elapsedNanos > 0 ? created * 1_000_000_000d / elapsedNanos : 0;
+        log.info("Batch ingested {} of {} claims in {} ms ({} claims/s)",
+                created, index, elapsedNanos / 1_000_000, Math.round(claimsPerSecond));
+        
+        return ClaimBatchResponse.builder()
+                .received(index)
+                .created(created)
+                .failed(index - created)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .claimsPerSecond(claimsPerSecond)
+                .results(results)
+                .build();
+    }
+    
+    private void writeChunk(List<PendingClaim> chunk, Map<Long, User> users, Set<Long> missingUsers,
+                            List<ClaimBatchItemResult> results) {
+        resolveUsers(chunk, users, missingUsers);
+        
+        List<PendingClaim> writable = new ArrayList<>(chunk.size());
+        for (PendingClaim pending : chunk) {
+            Long userId = pending.request().getUserId();
+            if (users.containsKey(userId)) {
+                writable.add(pending);
+            } else {
+                results.add(failure(pending.index(), "User not found with id: " + userId));
+            }
+        }
+        if (writable.isEmpty()) {
+            return;
+        }
+        
+        List<ClaimResponse> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Claim> claims = new ArrayList<>(writable.size());
+                for (PendingClaim pending : writable) {
+                    Claim claim = new Claim();
+                    claim.setClaimNumber(claimNumberGenerator.nextClaimNumber());
+                    claim.setDescription(pending.request().getDescription());
+                    claim.setClaimAmount(pending.request().getClaimAmount());
+                    claim.setStatus(ClaimStatus.PENDING);
+                    claim.setUser(users.get(pending.request().getUserId()));
+                    claims.add(claim);
+                }
+                List<Claim> persisted = claimRepository.saveAll(claims);
+                entityManager.flush();
+                entityManager.clear();
+                
+                List<ClaimResponse> responses = persisted.stream()
+                        .map(claimService::convertToResponse)
+                        .collect(Collectors.toList());
+                
+                // Owners get one notification per chunk, sent after commit
+                responses.forEach(response -> eventPublisher.publishEvent(ClaimChangedEvent.imported(response)));
+                eventPublisher.publishEvent(new ClaimsImportedEvent(responses.stream()
+                        .collect(Collectors.groupingBy(ClaimResponse::getUserId, Collectors.counting()))));
+                return responses;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Batch chunk of {} claims failed: {}", writable.size(), ex.getMessage());
+            writable.forEach(pending -> results.add(failure(pending.index(), "Chunk write failed: " + ex.getMessage())));
+            return;
+        }
+        
+        for (int i = 0; i < writable.size(); i++) {
+            results.add(ClaimBatchItemResult.builder()
+                    .index(writable.get(i).index())
+                    .success(true)
+                    .claim(saved.get(i))
+                    .build());
+        }
+    }
+    
+    /**
+     * Loads every user id not seen earlier in this batch with a single query
+     */
+    private void resolveUsers(List<PendingClaim> chunk, Map<Long, User> users, Set<Long> missingUsers) {
+        Set<Long> unresolved = chunk.stream()
+                .map(pending -> pending.request().getUserId())
+                .filter(id -> !users.containsKey(id) && !missingUsers.contains(id))
+                .collect(Collectors.toSet());
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        userRepository.findAllById(unresolved).forEach(user -> users.put(user.getId(), user));
+        unresolved.stream().filter(id -> !users.containsKey(id)).forEach(missingUsers::add);
+    }
+    
+    private String validate(ClaimRequest request) {
+        if (request == null) {
+            return "Claim is required";
+        }
+        Set<ConstraintViolation<ClaimRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    private static ClaimBatchItemResult failure(int index, String error) {
+        return ClaimBatchItemResult.builder()
+                .index(index)
+                .success(false)
+                .error(error)
+                .build();
+    }
+    
+    private record ParsedItem(ClaimRequest request, String error) {
+        
+        static ParsedItem of(ClaimRequest request) {
+            return new ParsedItem(request, null);
+        }
+        
+        static ParsedItem error(String error) {
+            return new ParsedItem(null, error);
+        }
+    }
+    
+    private record PendingClaim(int index, ClaimRequest request) {
+    }
+}
@@ -0,0 +1,254 @@
+package com.insurance.claims.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.repository.ClaimRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the claim history for reporting jobs
+ * Rows come from a forward-only cursor on a StatelessSession: nothing is put in a persistence
+ * context, and each row is written to the output and dropped before the next one is read, so
+ * memory use does not grow with the number of claims exported. Archived claims are streamed from
+ * their segments after the table rows, a block at a time. Rows are in id order within each part; a
+ * claim archived while the export runs may appear in both.
+ */
+@Slf4j
+@Service
+public class ClaimExportService {
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + name + " (expected ndjson or csv)");
+        }
+    }
+    
+    private static final String CSV_HEADER = "id,claimNumber,description,claimAmount,status,userName,userId,"
+            + "reviewedByName,reviewComments,createdAt,reviewedAt,version,riskScore,riskFlags";
+    
+    private final SessionFactory sessionFactory;
+    private final ClaimArchiveService claimArchive;
+    private final ObjectWriter jsonWriter;
+    
+    @Value("${claims.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ClaimExportService(EntityManagerFactory entityManagerFactory, ClaimArchiveService claimArchive,
+                              ObjectMapper objectMapper) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.claimArchive = claimArchive;
+        // The response is flushed by the container as its buffer fills, not after every row
+        this.jsonWriter = objectMapper.writerFor(ClaimResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /**
+     * Validates the filter before anything is written, so a bad request still gets an error response
+     */
+    public void validateFilter(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+    }
+    
+    /**
+     * Writes every claim matching the filter; null filter values match everything.
+     * from is inclusive and to exclusive, both on createdAt. Returns the number of claims written.
+     */
+    public long export(ClaimStatus status, Long userId, LocalDateTime from, LocalDateTime to,
+                       Format format, OutputStream out) throws IOException {
+        validateFilter(from, to);
+        long start = System.nanoTime();
+        long rows;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.getTransaction().begin();
+            try (ScrollableResults<ClaimResponse> results = query(session, status, userId, from, to).scroll(ScrollMode.FORWARD_ONLY)) {
+                Iterator<ClaimResponse> claims = Stream.concat(stream(results), archived(status, userId, from, to)).iterator();
+                rows = format == Format.CSV ? writeCsv(claims, out) : writeNdjson(claims, out);
+            } finally {
+                session.getTransaction().rollback();
+            }
+        }
+        log.info("Exported {} claims as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+    
+    private Query<ClaimResponse> query(StatelessSession session, ClaimStatus status, Long userId,
+                                       LocalDateTime from, LocalDateTime to) {
+        StringBuilder hql = new StringBuilder(ClaimRepository.CLAIM_RESPONSE_SELECT).append("WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (status != null) {
+            hql.append(" AND c.status = :status");
+            parameters.put("status", status);
+        }
+        if (userId != null) {
+            hql.append(" AND u.id = :userId");
+            parameters.put("userId", userId);
+        }
+        if (from != null) {
+            hql.append(" AND c.createdAt >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            hql.append(" AND c.createdAt < :to");
+            parameters.put("to", to);
+        }
+        hql.append(" ORDER BY c.id");
+        
+        Query<ClaimResponse> query = session.createQuery(hql.toString(), ClaimResponse.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+    
+    private Stream<ClaimResponse> archived(ClaimStatus status, Long userId, LocalDateTime from, LocalDateTime to) {
+        return claimArchive.stream().filter(claim -> (status == null || claim.getStatus() == status)
+                && (userId == null || claim.getUserId().equals(userId))
+                && (from == null || !claim.getCreatedAt().isBefore(from))
+                && (to == null || claim.getCreatedAt().isBefore(to)));
+    }
+    
+    private static Stream<ClaimResponse> stream(ScrollableResults<ClaimResponse> results) {
+        Iterator<ClaimResponse> rows = new Iterator<>() {
+            private Boolean hasNext;
+            
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    hasNext = results.next();
+                }
+                return hasNext;
+            }
+            
+            @Override
+            public ClaimResponse next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                return results.get();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false);
+    }
+    
+    private long writeNdjson(Iterator<ClaimResponse> claims, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = jsonWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One object per line instead of Jackson's default space between root values
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (claims.hasNext()) {
+                jsonWriter.writeValue(generator, claims.next());
+                rows++;
+            }
+            if (rows > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return rows;
+    }
+    
+    private long writeCsv(Iterator<ClaimResponse> claims, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (claims.hasNext()) {
+            ClaimResponse claim = claims.next();
+            writeCsvField(writer, claim.getId());
+            writeCsvField(writer, claim.getClaimNumber());
+            writeCsvField(writer, claim.getDescription());
+            writeCsvField(writer, claim.getClaimAmount() != null ? claim.getClaimAmount().toPlainString() : null);
+            writeCsvField(writer, claim.getStatus());
+            writeCsvField(writer, claim.getUserName());
+            writeCsvField(writer, claim.getUserId());
+            writeCsvField(writer, claim.getReviewedByName());
+            writeCsvField(writer, claim.getReviewComments());
+            writeCsvField(writer, claim.getCreatedAt());
+            writeCsvField(writer, claim.getReviewedAt());
+            writeCsvField(writer, claim.getVersion());
+            writeCsvField(writer, claim.getRiskScore());
+            // Flags share one field, separated by spaces so it never needs quoting
+            if (claim.getRiskFlags() != null) {
+                writer.write(claim.getRiskFlags().stream().map(Enum::name).collect(Collectors.joining(" ")));
+            }
+            writer.write("\r\n");
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+    
+    /**
+     * RFC 4180: a value containing a comma, quote or line break is quoted, with quotes doubled
+     */
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value != null) {
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write(',');
+    }
+}
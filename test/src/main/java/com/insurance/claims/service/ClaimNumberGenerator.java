@@ -0,0 +1,10 @@
+package com.insurance.claims.service;
+
+/**
+ * Strategy for assigning claim numbers
+ * Implementations must be thread-safe and never hand out the same number twice
+ */
+public interface ClaimNumberGenerator {
+    
+    String nextClaimNumber();
+}
@@ -0,0 +1,228 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.ClaimsArchivedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.readmodel.ClaimReadModel;
+import com.insurance.claims.repository.ClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Query side of the claim reads: serves claim lookups and listings from an in-memory ClaimReadModel
+ * The model is loaded from the database at startup and fed by committed claim changes. Until it
+ * is loaded, and whenever a change could not be applied, every read falls back to the database.
+ * Changes are applied on the committing thread before the write request returns, so a user always
+ * reads their own writes. A periodic check compares every claim's version with the database and
+ * reloads the claims the model is missing or behind on; serving resumes once a check is clean.
+ */
+@Slf4j
+@Service
+public class ClaimReadModelService {
+    
+    private static final int RELOAD_CHUNK = 500;
+    
+    private final ClaimRepository claimRepository;
+    private final SessionFactory sessionFactory;
+    private final ClaimReadModel model = new ClaimReadModel();
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private final Counter modelReads;
+    private final Counter databaseReads;
+    private final Counter repaired;
+    private volatile boolean serving;
+    private volatile boolean failedSinceCheck;
+    private volatile LocalDateTime lastCheckedAt;
+    
+    @Value("${claims.read-model.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${claims.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ClaimReadModelService(ClaimRepository claimRepository, EntityManagerFactory entityManagerFactory,
+                                 MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.modelReads = readCounter("model", meterRegistry);
+        this.databaseReads = readCounter("database", meterRegistry);
+        this.repaired = Counter.builder("claims.readmodel.repaired")
+                .description("Claims the consistency check found missing or stale in the read model")
+                .register(meterRegistry);
+        Gauge.builder("claims.readmodel.claims", model, ClaimReadModel::size)
+                .description("Claims held by the read model")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Runs before other after-commit listeners, so anything they publish about the change (such as
+     * a new ETag) is already reflected in the reads served from here
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            model.apply(event.claim());
+        } catch (RuntimeException ex) {
+            // Reads go to the database until the next check has brought the model back in line
+            failedSinceCheck = true;
+            serving = false;
+            log.warn("Read model missed change to claim {}: {}", event.claim().getId(), ex.getMessage());
+        }
+    }
+    
+    /**
+     * Archived claims are served from the archive; keeping them here would hold every closed claim
+     * in memory for good. A read racing the removal finds the claim in the archive already.
+     */
+    @TransactionalEventListener
+    public void onClaimsArchived(ClaimsArchivedEvent event) {
+        event.claims().forEach(claim -> model.remove(claim.getId()));
+    }
+    
+    /**
+     * Changes committed while loading are applied by the listener as well; the model keeps
+     * whichever version is newer, so the two can overlap in any order
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<ClaimResponse> rows = session
+                     .createQuery(ClaimRepository.CLAIM_RESPONSE_SELECT + "ORDER BY c.id", ClaimResponse.class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                model.apply(rows.get());
+            }
+        }
+        lastCheckedAt = LocalDateTime.now();
+        serving = !failedSinceCheck;
+        log.info("Claim read model loaded: {} claims in {} ms", model.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Scans (id, version) of every claim and reloads those the model lacks or holds an older
+     * version of. A claim changed during the scan may look stale; reloading it is harmless.
+     */
+    @Scheduled(initialDelayString = "${claims.read-model.check-interval-ms:300000}",
+            fixedDelayString = "${claims.read-model.check-interval-ms:300000}")
+    public void checkConsistency() {
+        if (!enabled || lastCheckedAt == null || !checking.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            boolean failuresBefore = failedSinceCheck;
+            failedSinceCheck = false;
+            List<Long> stale = new ArrayList<>();
+            long checked = 0;
+            try (StatelessSession session = sessionFactory.openStatelessSession();
+                 ScrollableResults<Object[]> rows = session
+                         .createQuery("SELECT c.id, c.version FROM Claim c ORDER BY c.id", Object[].class)
+                         .setFetchSize(fetchSize)
+                         .setReadOnly(true)
+                         .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    ClaimResponse cached = model.get((Long) row[0]);
+                    if (cached == null || cached.getVersion() < (Long) row[1]) {
+                        stale.add((Long) row[0]);
+                    }
+                    checked++;
+                }
+            }
+            for (int from = 0; from < stale.size(); from += RELOAD_CHUNK) {
+                claimRepository.findResponsesByIdIn(stale.subList(from, Math.min(from + RELOAD_CHUNK, stale.size())))
+                        .forEach(model::apply);
+            }
+            if (!stale.isEmpty()) {
+                repaired.increment(stale.size());
+                log.warn("Claim read model was behind on {} of {} claims; reloaded them", stale.size(), checked);
+            } else if (failuresBefore) {
+                log.info("Claim read model consistent again after missed changes");
+            }
+            lastCheckedAt = LocalDateTime.now();
+            // A change missed during this check keeps reads on the database until the next one
+            serving = !failedSinceCheck;
+        } finally {
+            checking.set(false);
+        }
+    }
+    
+    public Optional<ClaimResponse> findById(Long id) {
+        return read(() -> model.get(id));
+    }
+    
+    public Optional<ClaimResponse> findByClaimNumber(String claimNumber) {
+        return read(() -> model.getByClaimNumber(claimNumber));
+    }
+    
+    /**
+     * Empty when the model is not serving; the caller reads the database instead
+     */
+    public Optional<List<ClaimResponse>> page(ClaimCursor after, int limit) {
+        return read(() -> model.page(after, limit));
+    }
+    
+    public Optional<List<ClaimResponse>> pageByUser(Long userId, ClaimCursor after, int limit) {
+        return read(() -> model.pageByUser(userId, after, limit));
+    }
+    
+    public Optional<List<ClaimResponse>> pageByStatus(ClaimStatus status, ClaimCursor after, int limit) {
+        return read(() -> model.pageByStatus(status, after, limit));
+    }
+    
+    /**
+     * Claim as currently held, without counting a read; empty when the model is not serving
+     */
+    public Optional<ClaimResponse> peek(Long id) {
+        return serving ? Optional.ofNullable(model.get(id)) : Optional.empty();
+    }
+    
+    public Optional<ClaimResponse> peekByClaimNumber(String claimNumber) {
+        return serving ? Optional.ofNullable(model.getByClaimNumber(claimNumber)) : Optional.empty();
+    }
+    
+    private <T> Optional<T> read(Supplier<T> reader) {
+        T result = serving ? reader.get() : null;
+        (result != null ? modelReads : databaseReads).increment();
+        return Optional.ofNullable(result);
+    }
+    
+    private static Counter readCounter(String source, MeterRegistry meterRegistry) {
+        return Counter.builder("claims.readmodel.reads")
+                .description("Claim reads by where they were served from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
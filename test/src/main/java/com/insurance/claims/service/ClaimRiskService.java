@@ -0,0 +1,319 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.config.RiskProperties;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.model.RiskFlag;
+import com.insurance.claims.risk.AmountSpikeRule;
+import com.insurance.claims.risk.ClaimSample;
+import com.insurance.claims.risk.MinHash;
+import com.insurance.claims.risk.NearDuplicateRule;
+import com.insurance.claims.risk.RiskAssessment;
+import com.insurance.claims.risk.RiskRule;
+import com.insurance.claims.risk.UserClaimWindow;
+import com.insurance.claims.risk.VelocityRule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores claims for duplicate and fraud risk as they are submitted
+ * Each user's recent claims (amount, creation time, MinHash signature of the description) are kept
+ * in memory in a sliding window, loaded from the database at startup and extended by every committed
+ * create or import. A scored claim is added to its user's window provisionally in the same step that
+ * reads it, so concurrent submissions of one user (a double submit, or claims in one group commit)
+ * are scored against each other; the commit replaces the provisional sample and a claim that never
+ * commits drops out after claims.risk.provisional-ttl. Rules only read the window: they run
+ * concurrently on a small dedicated pool and the caller waits for them no longer than
+ * claims.risk.budget. Rules that miss the budget are left out of the score and counted, so scoring
+ * never holds up a submission.
+ * Rule scores are combined as independent probabilities: 1 - (1 - a)(1 - b)...
+ */
+@Slf4j
+@Service
+public class ClaimRiskService implements DisposableBean {
+    
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final long SIGNATURE_SEED = 0x5eed_c1a1_0b5e_11edL;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    private final RiskProperties properties;
+    private final SessionFactory sessionFactory;
+    private final MinHash minHash = new MinHash(SIGNATURE_LENGTH, SIGNATURE_SEED);
+    private final List<RiskRule> rules;
+    private final ExecutorService executor;                  // null when rules run on the caller
+    private final Map<Long, UserClaimWindow> windows = new ConcurrentHashMap<>();
+    private final Timer assessTimer;
+    private final Counter flagged;
+    private final Map<RiskFlag, Counter> skipped;
+    
+    @Value("${claims.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ClaimRiskService(RiskProperties properties, EntityManagerFactory entityManagerFactory,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.rules = List.of(
+                new NearDuplicateRule(properties.getDuplicateSimilarity()),
+                new VelocityRule(properties.getMaxClaimsPerHour(), properties.getMaxClaimsPerDay()),
+                new AmountSpikeRule(properties.getAmountSpikeFactor()));
+        int parallelism = properties.effectiveParallelism();
+        this.executor = parallelism > 1 ? newRuleExecutor(parallelism) : null;
+        this.assessTimer = Timer.builder("claims.risk.assessment")
+                .description("Time to score a submitted claim")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flagged = Counter.builder("claims.risk.flagged")
+                .description("Claims scored at or above the review threshold")
+                .register(meterRegistry);
+        this.skipped = new ConcurrentHashMap<>();
+        for (RiskRule rule : rules) {
+            skipped.put(rule.flag(), Counter.builder("claims.risk.rules.skipped")
+                    .description("Rule evaluations left out because they missed the time budget or failed")
+                    .tag("rule", rule.flag().name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("claims.risk.users", windows, Map::size)
+                .description("Users with claims in the risk scoring window")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Scores a claim about to be saved for the given user
+     */
+    public RiskAssessment assess(Long userId, String description, BigDecimal amount) {
+        if (!properties.isEnabled()) {
+            return RiskAssessment.none();
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getBudget().toNanos();
+        ClaimSample candidate = new ClaimSample(null, System.currentTimeMillis(), toCents(amount), minHash.signature(description));
+        UserClaimWindow history = admit(userId, candidate);
+        
+        int[] scores = executor != null ? scoreConcurrently(candidate, history, deadline) : scoreInTurn(candidate, history, deadline);
+        
+        double unflagged = 1;
+        boolean complete = true;
+        Set<RiskFlag> flags = EnumSet.noneOf(RiskFlag.class);
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] < 0) {
+                complete = false;
+                skipped.get(rules.get(i).flag()).increment();
+            } else if (scores[i] > 0) {
+                flags.add(rules.get(i).flag());
+                unflagged *= 1 - Math.min(100, scores[i]) / 100d;
+            }
+        }
+        RiskAssessment assessment = new RiskAssessment((int) Math.round(100 * (1 - unflagged)), flags, complete);
+        if (assessment.score() >= properties.getFlagThreshold()) {
+            flagged.increment();
+        }
+        assessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return assessment;
+    }
+    
+    /**
+     * Whether a scored claim should go to the admins for review
+     */
+    public boolean requiresReview(ClaimResponse claim) {
+        return claim.getRiskScore() != null && claim.getRiskScore() >= properties.getFlagThreshold();
+    }
+    
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        if (event.type() != ClaimChangedEvent.Type.CREATED && event.type() != ClaimChangedEvent.Type.IMPORTED) {
+            return;
+        }
+        ClaimResponse claim = event.claim();
+        record(claim.getUserId(), claim.getId(), toMillis(claim.getCreatedAt()), claim.getClaimAmount(), claim.getDescription());
+    }
+    
+    /**
+     * Loads the claims still inside the window. Claims committed meanwhile are recorded by the event
+     * listener as well; windows ignore a claim they already hold.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long loaded = 0;
+        LocalDateTime since = LocalDateTime.now().minus(properties.getWindow());
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<Object[]> rows = session
+                     .createQuery("SELECT c.user.id, c.id, c.createdAt, c.claimAmount, c.description FROM Claim c "
+                             + "WHERE c.createdAt >= :since ORDER BY c.createdAt", Object[].class)
+                     .setParameter("since", since)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                record((Long) row[0], (Long) row[1], toMillis((LocalDateTime) row[2]), (BigDecimal) row[3], (String) row[4]);
+                loaded++;
+            }
+        }
+        log.info("Risk scoring windows loaded: {} recent claims of {} users in {} ms",
+                loaded, windows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Forgets users without a claim inside the window
+     */
+    @Scheduled(initialDelayString = "${claims.risk.purge-interval-ms:600000}",
+            fixedDelayString = "${claims.risk.purge-interval-ms:600000}")
+    public void purgeIdleUsers() {
+        long cutoff = System.currentTimeMillis() - properties.getWindow().toMillis();
+        windows.values().removeIf(window -> window.newestMillis() < cutoff);
+    }
+    
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * The user's window to score the candidate against; the candidate joins it provisionally in the
+     * same atomic step, so the next submission of the user sees it even before this one commits
+     */
+    private UserClaimWindow admit(Long userId, ClaimSample candidate) {
+        long now = candidate.createdAtMillis();
+        long cutoff = now - properties.getWindow().toMillis();
+        long provisionalCutoff = now - properties.getProvisionalTtl().toMillis();
+        UserClaimWindow[] history = new UserClaimWindow[1];
+        windows.compute(userId, (id, window) -> {
+            history[0] = (window != null ? window : UserClaimWindow.EMPTY).expire(cutoff, provisionalCutoff);
+            return history[0].append(candidate, cutoff, provisionalCutoff, properties.getMaxRecentClaims());
+        });
+        return history[0];
+    }
+    
+    private void record(Long userId, Long claimId, long createdAtMillis, BigDecimal amount, String description) {
+        long now = System.currentTimeMillis();
+        long cutoff = now - properties.getWindow().toMillis();
+        if (createdAtMillis < cutoff) {
+            return;
+        }
+        ClaimSample sample = new ClaimSample(claimId, createdAtMillis, toCents(amount), minHash.signature(description));
+        windows.compute(userId, (id, window) -> (window != null ? window : UserClaimWindow.EMPTY)
+                .append(sample, cutoff, now - properties.getProvisionalTtl().toMillis(), properties.getMaxRecentClaims()));
+    }
+    
+    /**
+     * Scores per rule, -1 for a rule that missed the deadline or failed
+     */
+    private int[] scoreConcurrently(ClaimSample candidate, UserClaimWindow history, long deadline) {
+        List<Future<Integer>> futures = new ArrayList<>(rules.size());
+        for (RiskRule rule : rules) {
+            try {
+                futures.add(executor.submit(() -> rule.score(candidate, history)));
+            } catch (RejectedExecutionException ex) {
+                futures.add(null);
+            }
+        }
+        int[] scores = new int[rules.size()];
+        for (int i = 0; i < scores.length; i++) {
+            Future<Integer> future = futures.get(i);
+            scores[i] = -1;
+            if (future == null) {
+                continue;
+            }
+            try {
+                scores[i] = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+            } catch (ExecutionException ex) {
+                log.warn("Risk rule {} failed: {}", rules.get(i).flag(), ex.getCause().toString());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> {
+                    if (pending != null) {
+                        pending.cancel(true);
+                    }
+                });
+                break;
+            }
+        }
+        return scores;
+    }
+    
+    private int[] scoreInTurn(ClaimSample candidate, UserClaimWindow history, long deadline) {
+        int[] scores = new int[rules.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = -1;
+            if (System.nanoTime() - deadline >= 0) {
+                continue;
+            }
+            try {
+                scores[i] = rules.get(i).score(candidate, history);
+            } catch (RuntimeException ex) {
+                log.warn("Risk rule {} failed: {}", rules.get(i).flag(), ex.toString());
+            }
+        }
+        return scores;
+    }
+    
+    /**
+     * Fixed pool with a bounded queue; a full queue rejects instead of queueing work that would
+     * only finish after the caller has given up on it
+     */
+    private static ExecutorService newRuleExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 64),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "risk-rule-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // Starting a thread on first use would cost the first claims their budget
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZONE).toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+}
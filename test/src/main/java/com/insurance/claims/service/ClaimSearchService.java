@@ -0,0 +1,231 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimSearchCursor;
+import com.insurance.claims.dto.ClaimSearchHit;
+import com.insurance.claims.dto.ClaimSearchResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.search.InvertedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over claim descriptions and review comments
+ * The in-memory InvertedIndex is built from the database and the archive at startup and kept current from
+ * committed create/import/review events. Reviews re-index the claim and leave a dead document
+ * behind; once dead documents pass claims.search.compact-ratio the index is rebuilt. Changes
+ * committed while a rebuild scans the database are replayed onto the new index before it is
+ * swapped in. Ranking happens in memory; only the returned page of claims is read from the database.
+ */
+@Slf4j
+@Service
+public class ClaimSearchService {
+    
+    private final ClaimRepository claimRepository;
+    private final SessionFactory sessionFactory;
+    private final ClaimArchiveService claimArchive;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Timer queryTimer;
+    
+    private InvertedIndex index = new InvertedIndex(0);          // guarded by lock
+    private List<ClaimChangedEvent> changedDuringRebuild;        // guarded by lock
+    
+    @Value("${claims.pagination.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${claims.pagination.max-size:500}")
+    private int maxPageSize;
+    
+    @Value("${claims.search.compact-ratio:0.2}")
+    private double compactRatio;
+    
+    @Value("${claims.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ClaimSearchService(ClaimRepository claimRepository, EntityManagerFactory entityManagerFactory,
+                              ClaimArchiveService claimArchive, MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.claimArchive = claimArchive;
+        this.queryTimer = Timer.builder("claims.search.query")
+                .description("Ranking time of claim searches, excluding loading the page of claims")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("claims.search.documents", this, service -> service.readIndex(InvertedIndex::liveDocuments))
+                .description("Claims in the search index")
+                .register(meterRegistry);
+    }
+    
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            InvertedIndex rebuilt = load();
+            
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild.forEach(event -> apply(rebuilt, event));
+                index = rebuilt;
+            } finally {
+                changedDuringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            log.info("Claim search index built: {} claims, {} terms in {} ms",
+                    rebuilt.liveDocuments(), rebuilt.terms(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+    
+    /**
+     * Drops dead documents left behind by reviews once they make up too much of the index
+     */
+    @Scheduled(initialDelayString = "${claims.search.compact-check-ms:60000}",
+            fixedDelayString = "${claims.search.compact-check-ms:60000}")
+    public void compactIfNeeded() {
+        int dead = readIndex(InvertedIndex::deadDocuments);
+        int live = readIndex(InvertedIndex::liveDocuments);
+        if (dead > 0 && dead >= compactRatio * (dead + live)) {
+            log.debug("Compacting claim search index: {} dead of {} documents", dead, dead + live);
+            rebuild();
+        }
+    }
+    
+    public ClaimSearchResponse search(String query, ClaimStatus status, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query must not be empty");
+        }
+        int pageSize = resolvePageSize(size);
+        ClaimSearchCursor after = cursor != null ? ClaimSearchCursor.decode(cursor) : null;
+        
+        long start = System.nanoTime();
+        InvertedIndex.SearchPage page = readIndex(current -> current.search(query, status,
+                after != null ? after.score() : null, after != null ? after.id() : null, pageSize + 1));
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        
+        boolean hasMore = page.hits().size() > pageSize;
+        List<InvertedIndex.ScoredClaim> scored = hasMore ? page.hits().subList(0, pageSize) : page.hits();
+        Map<Long, ClaimResponse> claims = scored.isEmpty() ? new HashMap<>() : claimRepository
+                .findResponsesByIdIn(scored.stream().map(InvertedIndex.ScoredClaim::claimId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ClaimResponse::getId, Function.identity(), (first, second) -> first, HashMap::new));
+        // Hits no longer in the table have been archived
+        List<Long> archived = scored.stream()
+                .map(InvertedIndex.ScoredClaim::claimId)
+                .filter(id -> !claims.containsKey(id))
+                .collect(Collectors.toList());
+        claimArchive.findAll(archived).forEach(claim -> claims.putIfAbsent(claim.getId(), claim));
+        List<ClaimSearchHit> hits = scored.stream()
+                .filter(hit -> claims.containsKey(hit.claimId()))
+                .map(hit -> new ClaimSearchHit(hit.score(), claims.get(hit.claimId())))
+                .collect(Collectors.toList());
+        InvertedIndex.ScoredClaim last = hasMore ? scored.get(scored.size() - 1) : null;
+        
+        return ClaimSearchResponse.builder()
+                .query(query)
+                .totalHits(page.totalHits())
+                .totalHitsExact(page.totalHitsExact())
+                .hits(hits)
+                .nextCursor(last != null ? new ClaimSearchCursor(last.score(), last.claimId()).encode() : null)
+                .size(hits.size())
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    private <T> T readIndex(Function<InvertedIndex, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static void apply(InvertedIndex target, ClaimChangedEvent event) {
+        ClaimResponse claim = event.claim();
+        target.upsert(claim.getId(), claim.getStatus(), claim.getDescription(), claim.getReviewComments());
+    }
+    
+    /**
+     * Scans every claim in id order on a stateless session, so claims are never held as entities,
+     * then every archived claim
+     */
+    private InvertedIndex load() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            long count = session.createQuery("SELECT COUNT(c) FROM Claim c", Long.class).getSingleResult() + claimArchive.size();
+            InvertedIndex loaded = new InvertedIndex((int) Math.min(count + count / 10, Integer.MAX_VALUE - 8));
+            try (ScrollableResults<Object[]> rows = session
+                    .createQuery("SELECT c.id, c.status, c.description, c.reviewComments FROM Claim c ORDER BY c.id", Object[].class)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    loaded.upsert((Long) row[0], (ClaimStatus) row[1], (String) row[2], (String) row[3]);
+                }
+            }
+            claimArchive.stream().forEach(claim -> loaded.upsert(claim.getId(), claim.getStatus(),
+                    claim.getDescription(), claim.getReviewComments()));
+            return loaded;
+        }
+    }
+    
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new RuntimeException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
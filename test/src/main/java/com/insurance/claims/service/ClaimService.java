@@ -1,20 +1,33 @@
 package com.insurance.claims.service;
 
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimPageResponse;
 import com.insurance.claims.dto.ClaimRequest;
 import com.insurance.claims.dto.ClaimResponse;
 import com.insurance.claims.dto.ClaimReviewRequest;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.exception.ClaimConflictException;
 import com.insurance.claims.model.Claim;
 import com.insurance.claims.model.ClaimStatus;
 import com.insurance.claims.model.User;
 import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.risk.RiskAssessment;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for Claim operations
@@ -24,81 +37,232 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClaimService {
     
+    private static final Comparator<ClaimResponse> NEWEST_FIRST = Comparator
+            .comparing(ClaimResponse::getCreatedAt).reversed()
+            .thenComparing(ClaimResponse::getId, Comparator.reverseOrder());
+    
+    // Reviews without a version retry this often when the read model's pre-image turns out stale
+    private static final int REVIEW_ATTEMPTS = 3;
+    
     private final ClaimRepository claimRepository;
     private final UserService userService;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClaimNumberGenerator claimNumberGenerator;
+    private final ClaimRiskService claimRiskService;
+    private final ClaimReadModelService readModel;
+    private final ClaimArchiveService claimArchive;
+    
+    @Value("${claims.pagination.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${claims.pagination.max-size:500}")
+    private int maxPageSize;
     
     @Transactional
     public ClaimResponse createClaim(ClaimRequest request) {
         User user = userService.getUserById(request.getUserId());
+        RiskAssessment risk = claimRiskService.assess(user.getId(), request.getDescription(), request.getClaimAmount());
         
+        Claim savedClaim = claimRepository.save(newClaim(request, user, risk));
+        ClaimResponse response = convertToResponse(savedClaim);
+        
+        // User is notified once the transaction commits, and admins too if the claim was flagged
+        eventPublisher.publishEvent(ClaimChangedEvent.created(response));
+        
+        return response;
+    }
+    
+    /**
+     * New pending claim for the user, numbered and scored; shared with the grouped submission path
+     */
+    Claim newClaim(ClaimRequest request, User user, RiskAssessment risk) {
         Claim claim = new Claim();
-        claim.setClaimNumber(generateClaimNumber());
+        claim.setClaimNumber(claimNumberGenerator.nextClaimNumber());
         claim.setDescription(request.getDescription());
         claim.setClaimAmount(request.getClaimAmount());
         claim.setStatus(ClaimStatus.PENDING);
         claim.setUser(user);
-        
-        Claim savedClaim = claimRepository.save(claim);
-        
-        // Notify user that claim was created
-        notificationService.notifyUser(user.getId(), "Claim " + savedClaim.getClaimNumber() + " created successfully");
-        
-        return convertToResponse(savedClaim);
+        claim.setRiskScore(risk.score());
+        claim.setRiskFlags(risk.flags());
+        return claim;
     }
     
+    /**
+     * Optimistic review in one round trip: the claim as held by the read model is the pre-image, and a
+     * single conditional UPDATE applies the review only while the row is still at that version and in
+     * a status allowed to move to the target. The response is the pre-image with the review applied.
+     * The claim is selected only when the read model cannot supply the pre-image or the UPDATE matched
+     * no row: to report the current state in a 409, or to retry on it when no version was requested.
+     */
     @Transactional
     public ClaimResponse reviewClaim(Long claimId, ClaimReviewRequest request) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found with id: " + claimId));
-        
         User admin = userService.getUserById(request.getAdminId());
+        ClaimStatus targetStatus = request.getStatus();
+        Long expectedVersion = request.getVersion();
+        // Column precision, so the response matches the row
+        LocalDateTime reviewedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         
-        claim.setStatus(request.getStatus());
-        claim.setReviewComments(request.getReviewComments());
-        claim.setReviewedBy(admin);
-        claim.setReviewedAt(LocalDateTime.now());
+        Optional<ClaimResponse> snapshot = readModel.peek(claimId)
+                .filter(claim -> expectedVersion == null || expectedVersion.equals(claim.getVersion()));
+        boolean fromDatabase = snapshot.isEmpty();
+        ClaimResponse before = snapshot.orElseGet(() -> currentClaim(claimId));
+        for (int attempt = 1; ; attempt++) {
+            boolean applicable = before.getStatus().canTransitionTo(targetStatus)
+                    && (expectedVersion == null || expectedVersion.equals(before.getVersion()));
+            if (applicable && claimRepository.reviewIfCurrent(claimId, before.getVersion(), ClaimStatus.predecessorsOf(targetStatus),
+                    targetStatus, request.getReviewComments(), admin, reviewedAt, targetStatus.isFinal() ? reviewedAt : null) == 1) {
+                break;
+            }
+            if (!applicable && fromDatabase) {
+                throw conflict(before, request);
+            }
+            // The pre-image is behind the row
+            ClaimResponse current = currentClaim(claimId);
+            if (expectedVersion != null || current.getVersion().equals(before.getVersion()) || attempt == REVIEW_ATTEMPTS) {
+                throw conflict(current, request);
+            }
+            before = current;
+            fromDatabase = true;
+        }
         
-        Claim updatedClaim = claimRepository.save(claim);
+        ClaimResponse reviewed = before.toBuilder()
+                .status(targetStatus)
+                .reviewComments(request.getReviewComments())
+                .reviewedByName(admin.getFullName())
+                .reviewedAt(reviewedAt)
+                .version(before.getVersion() + 1)
+                .build();
         
-        // Notify user about status change
-        String statusMessage = String.format("Claim %s status updated to: %s", 
-                claim.getClaimNumber(), request.getStatus());
-        notificationService.notifyUser(claim.getUser().getId(), statusMessage);
+        // User is notified about the status change once the transaction commits
+        eventPublisher.publishEvent(ClaimChangedEvent.reviewed(reviewed, before.getStatus()));
         
-        return convertToResponse(updatedClaim);
+        return reviewed;
     }
     
+    /**
+     * Archived claims are closed, so reviewing one is a conflict rather than a missing claim
+     */
+    private ClaimResponse currentClaim(Long claimId) {
+        return claimRepository.findResponseById(claimId)
+                .or(() -> claimArchive.findById(claimId))
+                .orElseThrow(() -> new RuntimeException("Claim not found with id: " + claimId));
+    }
+    
+    private static ClaimConflictException conflict(ClaimResponse current, ClaimReviewRequest request) {
+        if (request.getVersion() != null && !request.getVersion().equals(current.getVersion())) {
+            return new ClaimConflictException(String.format("Claim %s was modified concurrently (expected version %d, current %d)",
+                    current.getClaimNumber(), request.getVersion(), current.getVersion()), current);
+        }
+        return new ClaimConflictException(String.format("Claim %s cannot move from %s to %s",
+                current.getClaimNumber(), current.getStatus(), request.getStatus()), current);
+    }
+    
+    // Reads are served by the read model and fall back to the database while it is not available.
+    // Archived claims are in neither: lookups fall through to the archive and listings merge it in.
+    
     public ClaimResponse getClaimById(Long id) {
-        Claim claim = claimRepository.findById(id)
+        return readModel.findById(id)
+                .or(() -> claimRepository.findResponseById(id))
+                .or(() -> claimArchive.findById(id))
                 .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
-        return convertToResponse(claim);
     }
     
-    public List<ClaimResponse> getAllClaims() {
-        return claimRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public ClaimResponse getClaimByNumber(String claimNumber) {
+        return readModel.findByClaimNumber(claimNumber)
+                .or(() -> claimRepository.findResponseByClaimNumber(claimNumber))
+                .or(() -> claimArchive.findByClaimNumber(claimNumber))
+                .orElseThrow(() -> new RuntimeException("Claim not found with number: " + claimNumber));
     }
     
-    public List<ClaimResponse> getClaimsByUser(Long userId) {
+    public ClaimPageResponse getAllClaims(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        ClaimCursor after = cursor != null ? ClaimCursor.decode(cursor) : null;
+        List<ClaimResponse> rows = readModel.page(after, pageSize + 1).orElseGet(() -> {
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            return after == null
+                    ? claimRepository.findFirstPage(limit)
+                    : claimRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        });
+        return toPage(withArchived(rows, claimArchive.page(after, null, null, pageSize + 1), pageSize + 1), pageSize);
+    }
+    
+    public ClaimPageResponse getClaimsByUser(Long userId, String cursor, Integer size) {
         User user = userService.getUserById(userId);
-        return claimRepository.findByUserOrderByCreatedAtDesc(user).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        int pageSize = resolvePageSize(size);
+        ClaimCursor after = cursor != null ? ClaimCursor.decode(cursor) : null;
+        List<ClaimResponse> rows = readModel.pageByUser(user.getId(), after, pageSize + 1).orElseGet(() -> {
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            return after == null
+                    ? claimRepository.findFirstPageByUser(user.getId(), limit)
+                    : claimRepository.findPageByUserAfter(user.getId(), after.createdAt(), after.id(), limit);
+        });
+        return toPage(withArchived(rows, claimArchive.page(after, user.getId(), null, pageSize + 1), pageSize + 1), pageSize);
+    }
+    
+    public ClaimPageResponse getClaimsByStatus(ClaimStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        ClaimCursor after = cursor != null ? ClaimCursor.decode(cursor) : null;
+        List<ClaimResponse> rows = readModel.pageByStatus(status, after, pageSize + 1).orElseGet(() -> {
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            return after == null
+                    ? claimRepository.findFirstPageByStatus(status, limit)
+                    : claimRepository.findPageByStatusAfter(status, after.createdAt(), after.id(), limit);
+        });
+        return toPage(withArchived(rows, claimArchive.page(after, null, status, pageSize + 1), pageSize + 1), pageSize);
     }
     
-    public List<ClaimResponse> getClaimsByStatus(ClaimStatus status) {
-        return claimRepository.findByStatus(status).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new RuntimeException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
     }
     
-    private String generateClaimNumber() {
-        return "CLM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    /**
+     * Merges the same page from the table and the archive, newest first; a claim caught moving
+     * between the two can be in both and is listed once
+     */
+    private static List<ClaimResponse> withArchived(List<ClaimResponse> rows, List<ClaimResponse> archived, int limit) {
+        if (archived.isEmpty()) {
+            return rows;
+        }
+        List<ClaimResponse> merged = new ArrayList<>(rows.size() + archived.size());
+        merged.addAll(rows);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        Set<Long> seen = new HashSet<>();
+        List<ClaimResponse> page = new ArrayList<>(Math.min(limit, merged.size()));
+        for (ClaimResponse claim : merged) {
+            if (seen.add(claim.getId())) {
+                page.add(claim);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+    
+    /**
+     * Rows are fetched with one extra element so we know whether another page exists
+     * without issuing a count query
+     */
+    private ClaimPageResponse toPage(List<ClaimResponse> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ClaimResponse> claims = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ClaimCursor.of(claims.get(claims.size() - 1)).encode() : null;
+        return ClaimPageResponse.builder()
+                .claims(claims)
+                .nextCursor(nextCursor)
+                .size(claims.size())
+                .hasMore(hasMore)
+                .build();
     }
     
-    private ClaimResponse convertToResponse(Claim claim) {
+    ClaimResponse convertToResponse(Claim claim) {
         return ClaimResponse.builder()
                 .id(claim.getId())
                 .claimNumber(claim.getClaimNumber())
@@ -111,6 +275,9 @@ public class ClaimService {
                 .reviewComments(claim.getReviewComments())
                 .createdAt(claim.getCreatedAt())
                 .reviewedAt(claim.getReviewedAt())
+                .version(claim.getVersion())
+                .riskScore(claim.getRiskScore())
+                .riskFlags(claim.getRiskFlags())
                 .build();
     }
 }
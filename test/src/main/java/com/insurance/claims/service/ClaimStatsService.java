@@ -0,0 +1,242 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimStatsResponse;
+import com.insurance.claims.dto.ClaimStatsRow;
+import com.insurance.claims.dto.ClaimStatusTotals;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.ClaimsArchivedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.repository.ClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claim counts and amount totals per status, overall and per user, kept in memory
+ * Counters are striped (LongAdder) and updated after each committed create/import/review, so
+ * reads never touch the database or take a lock. Amounts are summed exactly as cents.
+ * The counters are rebuilt from one GROUP BY query at startup, plus the totals stored in the archive
+ * segments, and periodically compared with them; on drift they are replaced by those figures.
+ */
+@Slf4j
+@Service
+public class ClaimStatsService {
+    
+    // Scale of the claim_amount column
+    private static final int AMOUNT_SCALE = 2;
+    private static final ClaimStatus[] STATUSES = ClaimStatus.values();
+    
+    private final ClaimRepository claimRepository;
+    private final UserService userService;
+    private final ClaimArchiveService claimArchive;
+    private final Counter drift;
+    private final LongAdder appliedChanges = new LongAdder();
+    private volatile Counters counters = new Counters();
+    private volatile LocalDateTime lastReconciledAt;
+    
+    public ClaimStatsService(ClaimRepository claimRepository, UserService userService, ClaimArchiveService claimArchive,
+                             MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        this.userService = userService;
+        this.claimArchive = claimArchive;
+        this.drift = Counter.builder("claims.stats.drift")
+                .description("Reconciliation runs that found the in-memory statistics out of step with the database")
+                .register(meterRegistry);
+    }
+    
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        ClaimResponse claim = event.claim();
+        long cents = toCents(claim.getClaimAmount());
+        Counters current = counters;
+        switch (event.type()) {
+            case CREATED, IMPORTED -> current.add(claim.getUserId(), claim.getStatus(), 1, cents);
+            case REVIEWED, BULK_REVIEWED -> {
+                current.add(claim.getUserId(), event.previousStatus(), -1, -cents);
+                current.add(claim.getUserId(), claim.getStatus(), 1, cents);
+            }
+        }
+        appliedChanges.increment();
+    }
+    
+    /**
+     * Archiving leaves the totals as they are, but a reconciliation overlapping it could count the
+     * moved claims twice or not at all, so it counts as a change
+     */
+    @TransactionalEventListener
+    public void onClaimsArchived(ClaimsArchivedEvent event) {
+        appliedChanges.increment();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        counters = load();
+        lastReconciledAt = LocalDateTime.now();
+        log.info("Claim statistics loaded: {} claims", counters.snapshot().values().stream()
+                .mapToLong(totals -> countOf(totals)).sum());
+    }
+    
+    /**
+     * Compares the counters with the database. A run that overlaps a claim change is skipped, since
+     * the two sides cannot be compared; a change committing right at the edge of the window may
+     * still show up as drift, in which case the reset is itself corrected by the next run.
+     */
+    @Scheduled(initialDelayString = "${claims.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${claims.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long changesBefore = appliedChanges.sum();
+        Counters fromDatabase = load();
+        if (appliedChanges.sum() != changesBefore) {
+            log.debug("Claim statistics reconciliation skipped: claims changed while loading");
+            return;
+        }
+        Map<Long, long[]> expected = fromDatabase.snapshot();
+        Map<Long, long[]> actual = counters.snapshot();
+        if (!sameTotals(expected, actual)) {
+            drift.increment();
+            log.warn("Claim statistics drifted from the database; resetting ({} users in database, {} in memory)",
+                    expected.size(), actual.size());
+            counters = fromDatabase;
+        }
+        lastReconciledAt = LocalDateTime.now();
+    }
+    
+    public ClaimStatsResponse getStats() {
+        Counters current = counters;
+        return toResponse(null, current.byStatus);
+    }
+    
+    public ClaimStatsResponse getStatsForUser(Long userId) {
+        // Unknown users are an error rather than all-zero statistics
+        userService.getUserById(userId);
+        Totals[] totals = counters.byUser.get(userId);
+        return toResponse(userId, totals != null ? totals : newTotals());
+    }
+    
+    private ClaimStatsResponse toResponse(Long userId, Totals[] totals) {
+        Map<ClaimStatus, ClaimStatusTotals> byStatus = new EnumMap<>(ClaimStatus.class);
+        long totalCount = 0;
+        long totalCents = 0;
+        for (ClaimStatus status : STATUSES) {
+            long count = totals[status.ordinal()].count.sum();
+            long cents = totals[status.ordinal()].cents.sum();
+            byStatus.put(status, new ClaimStatusTotals(count, toAmount(cents)));
+            totalCount += count;
+            totalCents += cents;
+        }
+        return ClaimStatsResponse.builder()
+                .userId(userId)
+                .totalCount(totalCount)
+                .totalAmount(toAmount(totalCents))
+                .byStatus(byStatus)
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+    
+    private Counters load() {
+        Counters loaded = new Counters();
+        for (ClaimStatsRow row : claimRepository.aggregateByUserAndStatus()) {
+            loaded.add(row.userId(), row.status(), row.count(), toCents(row.totalAmount()));
+        }
+        for (ClaimStatsRow row : claimArchive.aggregateByUserAndStatus()) {
+            loaded.add(row.userId(), row.status(), row.count(), toCents(row.totalAmount()));
+        }
+        return loaded;
+    }
+    
+    private static boolean sameTotals(Map<Long, long[]> expected, Map<Long, long[]> actual) {
+        Map<Long, long[]> nonEmpty = new HashMap<>();
+        actual.forEach((userId, totals) -> {
+            if (Arrays.stream(totals).anyMatch(value -> value != 0)) {
+                nonEmpty.put(userId, totals);
+            }
+        });
+        if (nonEmpty.size() != expected.size()) {
+            return false;
+        }
+        return expected.entrySet().stream()
+                .allMatch(entry -> Arrays.equals(entry.getValue(), nonEmpty.get(entry.getKey())));
+    }
+    
+    private static long countOf(long[] totals) {
+        long count = 0;
+        for (int i = 0; i < STATUSES.length; i++) {
+            count += totals[2 * i];
+        }
+        return count;
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, AMOUNT_SCALE);
+    }
+    
+    private static Totals[] newTotals() {
+        Totals[] totals = new Totals[STATUSES.length];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new Totals();
+        }
+        return totals;
+    }
+    
+    private static final class Totals {
+        
+        private final LongAdder count = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+    }
+    
+    private static final class Counters {
+        
+        private final Totals[] byStatus = newTotals();
+        private final Map<Long, Totals[]> byUser = new ConcurrentHashMap<>();
+        
+        private void add(Long userId, ClaimStatus status, long count, long cents) {
+            Objects.requireNonNull(status, "status");
+            Totals global = byStatus[status.ordinal()];
+            global.count.add(count);
+            global.cents.add(cents);
+            Totals[] userTotals = byUser.get(userId);
+            if (userTotals == null) {
+                userTotals = byUser.computeIfAbsent(userId, id -> newTotals());
+            }
+            userTotals[status.ordinal()].count.add(count);
+            userTotals[status.ordinal()].cents.add(cents);
+        }
+        
+        /**
+         * Per user: count and cents for each status, interleaved in ordinal order
+         */
+        private Map<Long, long[]> snapshot() {
+            Map<Long, long[]> snapshot = new HashMap<>();
+            byUser.forEach((userId, totals) -> {
+                long[] values = new long[2 * STATUSES.length];
+                for (int i = 0; i < STATUSES.length; i++) {
+                    values[2 * i] = totals[i].count.sum();
+                    values[2 * i + 1] = totals[i].cents.sum();
+                }
+                snapshot.put(userId, values);
+            });
+            return snapshot;
+        }
+    }
+}
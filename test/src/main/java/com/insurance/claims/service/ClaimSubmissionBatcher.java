@@ -0,0 +1,242 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.config.SubmissionProperties;
+import com.insurance.claims.dto.ClaimRequest;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.model.Claim;
+import com.insurance.claims.model.User;
+import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.risk.RiskAssessment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single claim submissions (claims.submission.group-commit)
+ * The request thread resolves the user and scores the claim, then queues it and waits. A single
+ * worker gathers queued claims into batches of up to maxBatchSize, waiting at most maxWait after
+ * the first one, and writes each batch in one transaction with batched inserts. Every caller is
+ * completed with its own claim or error: if a batch fails, its claims are retried one per
+ * transaction so a bad row only fails its own request. After-commit listeners (read model,
+ * notifications, ETags) run on the worker before callers are released, so a created claim is
+ * readable as soon as its response is returned.
+ * When group commit is off, the queue is full or the application is stopping, the claim is
+ * written on the request thread exactly as ClaimService.createClaim does.
+ */
+@Slf4j
+@Service
+public class ClaimSubmissionBatcher implements SmartLifecycle {
+    
+    private final ClaimService claimService;
+    private final UserService userService;
+    private final ClaimRiskService claimRiskService;
+    private final ClaimRepository claimRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final SubmissionProperties properties;
+    private final BlockingQueue<PendingClaim> queue;
+    private final long maxWaitNanos;
+    private final DistributionSummary batchSize;
+    private final Timer queueWait;
+    private final Counter retried;
+    private final Counter direct;
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public ClaimSubmissionBatcher(ClaimService claimService, UserService userService,
+                                  ClaimRiskService claimRiskService, ClaimRepository claimRepository,
+                                  ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                                  EntityManager entityManager, SubmissionProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.claimService = claimService;
+        this.userService = userService;
+        this.claimRiskService = claimRiskService;
+        this.claimRepository = claimRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        meterRegistry.gauge("claims.submission.queue.depth", queue, BlockingQueue::size);
+        this.batchSize = DistributionSummary.builder("claims.submission.batch.size")
+                .description("Claims written per group commit")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("claims.submission.queue.wait")
+                .description("Time from submission until the claim's batch is written")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.retried = Counter.builder("claims.submission.retried")
+                .description("Claims rewritten alone after their batch failed")
+                .register(meterRegistry);
+        this.direct = Counter.builder("claims.submission.direct")
+                .description("Claims written on the request thread because the queue was full or stopping")
+                .register(meterRegistry);
+    }
+    
+    public ClaimResponse createClaim(ClaimRequest request) {
+        if (!properties.isGroupCommit()) {
+            return claimService.createClaim(request);
+        }
+        User user = userService.getUserById(request.getUserId());
+        RiskAssessment risk = claimRiskService.assess(user.getId(), request.getDescription(), request.getClaimAmount());
+        PendingClaim pending = new PendingClaim(request, user, risk, new CompletableFuture<>(), System.nanoTime());
+        
+        // The worker may exit between the running check and the offer; taking the claim back
+        // means nobody else will write it
+        if (!running || !queue.offer(pending) || (!running && queue.remove(pending))) {
+            direct.increment();
+            return transactionTemplate.execute(status -> insert(List.of(pending)).get(0));
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+    
+    private void drainLoop() {
+        List<PendingClaim> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingClaim first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    if (queue.drainTo(batch, properties.getMaxBatchSize() - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingClaim next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail(batch, new RuntimeException("Claim submission was interrupted"));
+                return;
+            } catch (Throwable ex) {
+                // Never leave a caller waiting
+                log.warn("Group commit of {} claims failed: {}", batch.size(), ex.getMessage());
+                fail(batch, ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void write(List<PendingClaim> batch) {
+        long now = System.nanoTime();
+        batch.forEach(pending -> queueWait.record(now - pending.submittedNanos(), TimeUnit.NANOSECONDS));
+        batchSize.record(batch.size());
+        
+        List<ClaimResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            log.debug("Group commit of {} claims failed, writing them one by one: {}", batch.size(), ex.getMessage());
+            retried.increment(batch.size());
+            for (PendingClaim pending : batch) {
+                try {
+                    pending.result().complete(transactionTemplate.execute(status -> insert(List.of(pending)).get(0)));
+                } catch (RuntimeException rowEx) {
+                    pending.result().completeExceptionally(rowEx);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(responses.get(i));
+        }
+    }
+    
+    /**
+     * Runs inside a transaction; the created events are delivered once it commits
+     */
+    private List<ClaimResponse> insert(List<PendingClaim> pendingClaims) {
+        List<Claim> claims = new ArrayList<>(pendingClaims.size());
+        for (PendingClaim pending : pendingClaims) {
+            claims.add(claimService.newClaim(pending.request(), pending.user(), pending.risk()));
+        }
+        List<Claim> persisted = claimRepository.saveAll(claims);
+        entityManager.flush();
+        entityManager.clear();
+        
+        List<ClaimResponse> responses = new ArrayList<>(persisted.size());
+        for (Claim claim : persisted) {
+            ClaimResponse response = claimService.convertToResponse(claim);
+            eventPublisher.publishEvent(ClaimChangedEvent.created(response));
+            responses.add(response);
+        }
+        return responses;
+    }
+    
+    private static void fail(List<PendingClaim> batch, Throwable ex) {
+        batch.forEach(pending -> pending.result().completeExceptionally(ex));
+    }
+    
+    @Override
+    public void start() {
+        if (!properties.isGroupCommit()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "claim-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @Override
+    public void stop() {
+        // Worker writes whatever is still queued, then exits
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private record PendingClaim(ClaimRequest request, User user, RiskAssessment risk,
+                                CompletableFuture<ClaimResponse> result, long submittedNanos) {
+    }
+}
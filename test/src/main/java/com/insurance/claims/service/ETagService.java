@@ -0,0 +1,105 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.UserCreatedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Strong ETags for claim and user reads, computed without touching the database
+ * - claim listings: a change counter per scope (all claims, per owner, per status), bumped after
+ *   every committed claim change that can alter the listing
+ * - single claims: id and version, as held by the read model
+ * - users: never change once created; the user lists carry a counter bumped per new user
+ * Every tag also names the representation (JSON or CBOR) it validates, as one URL serves both.
+ * Counters live in memory and restart at zero, so every tag includes a nonce drawn at startup and
+ * tags from an earlier run never match. Callers take the tag before reading the data: a change
+ * committing in between can only pair newer data with the older tag, which the next poll replaces.
+ */
+@Service
+@RequiredArgsConstructor
+public class ETagService {
+    
+    private final String nonce = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final ClaimReadModelService readModel;
+    private final AtomicLong allClaims = new AtomicLong();
+    private final Map<Long, AtomicLong> claimsByUser = new ConcurrentHashMap<>();
+    private final AtomicLongArray claimsByStatus = new AtomicLongArray(ClaimStatus.values().length);
+    private final AtomicLong users = new AtomicLong();
+    
+    /**
+     * Runs after the read model has applied the change, so a new tag is never paired with old data
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        ClaimResponse claim = event.claim();
+        allClaims.incrementAndGet();
+        claimsByUser.computeIfAbsent(claim.getUserId(), id -> new AtomicLong()).incrementAndGet();
+        claimsByStatus.incrementAndGet(claim.getStatus().ordinal());
+        if (event.previousStatus() != null && event.previousStatus() != claim.getStatus()) {
+            claimsByStatus.incrementAndGet(event.previousStatus().ordinal());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onUserCreated(UserCreatedEvent event) {
+        users.incrementAndGet();
+    }
+    
+    public String allClaimsTag(MediaType representation) {
+        return tag("claims", allClaims.get(), representation);
+    }
+    
+    public String userClaimsTag(Long userId, MediaType representation) {
+        AtomicLong counter = claimsByUser.get(userId);
+        return tag("claims-u" + userId, counter != null ? counter.get() : 0, representation);
+    }
+    
+    public String statusClaimsTag(ClaimStatus status, MediaType representation) {
+        return tag("claims-" + status.name(), claimsByStatus.get(status.ordinal()), representation);
+    }
+    
+    /**
+     * Null when the read model cannot tell the claim's current version
+     */
+    public String claimTag(Long id, MediaType representation) {
+        return readModel.peek(id).map(claim -> claimTag(claim, representation)).orElse(null);
+    }
+    
+    public String claimTagByNumber(String claimNumber, MediaType representation) {
+        return readModel.peekByClaimNumber(claimNumber).map(claim -> claimTag(claim, representation)).orElse(null);
+    }
+    
+    public String claimTag(ClaimResponse claim, MediaType representation) {
+        return tag("claim" + claim.getId(), claim.getVersion(), representation);
+    }
+    
+    /**
+     * Takes the user itself rather than an id, so only a user that exists is tagged
+     */
+    public String userTag(User user, MediaType representation) {
+        return tag("user" + user.getId(), 0, representation);
+    }
+    
+    public String usersTag(MediaType representation) {
+        return tag("users", users.get(), representation);
+    }
+    
+    private String tag(String scope, long counter, MediaType representation) {
+        return "\"" + nonce + "-" + scope + "-" + counter + "-" + representation.getSubtype() + "\"";
+    }
+}
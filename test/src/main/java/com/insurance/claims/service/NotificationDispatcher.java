@@ -0,0 +1,199 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.config.NotificationProperties;
+import com.insurance.claims.dto.NotificationPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers WebSocket notifications off the request thread
+ * Submissions go into a bounded queue drained by a single worker. Each drain takes up to
+ * maxBatchSize notifications and sends one frame per destination, so a burst for the same
+ * user costs one convertAndSend. Notifications carrying the same coalesce key (e.g. status updates
+ * for one claim) supersede each other within a drain, and single-key frames are tagged with a
+ * coalesce-key header so the WebSocket layer can drop stale frames for slow clients as well.
+ * When the queue is full the configured overflow policy applies.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+    
+    public static final String COALESCE_KEY_HEADER = "coalesce-key";
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationProperties properties;
+    private final BlockingQueue<PendingNotification> queue;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSize;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter coalesced;
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public NotificationDispatcher(SimpMessagingTemplate messagingTemplate,
+                                  NotificationProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        meterRegistry.gauge("claims.notifications.queue.depth", queue, BlockingQueue::size);
+        this.lagTimer = Timer.builder("claims.notifications.lag")
+                .description("Time from submission to delivery to the broker")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("claims.notifications.batch.size")
+                .register(meterRegistry);
+        this.sent = Counter.builder("claims.notifications.sent").register(meterRegistry);
+        this.dropped = Counter.builder("claims.notifications.dropped")
+                .tag("policy", properties.getOverflowPolicy().name())
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("claims.notifications.coalesced").register(meterRegistry);
+    }
+    
+    /**
+     * @param coalesceKey identifies what the message is about; a later message with the same key
+     *                    makes earlier undelivered ones obsolete. Null means never coalesce.
+     */
+    public void submit(String destination, String coalesceKey, String message) {
+        PendingNotification notification = new PendingNotification(
+                destination, coalesceKey, message, LocalDateTime.now(), System.nanoTime());
+        if (queue.offer(notification)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP_OLDEST -> {
+                // Another submitter may refill the slot between poll and offer; one retry is enough
+                if (queue.poll() != null) {
+                    dropped.increment();
+                }
+                if (!queue.offer(notification)) {
+                    dropped.increment();
+                }
+            }
+            case DROP_NEWEST -> dropped.increment();
+            case CALLER_RUNS -> deliver(List.of(notification));
+        }
+    }
+    
+    private void drainLoop() {
+        List<PendingNotification> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingNotification first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+                deliver(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to deliver {} notifications: {}", batch.size(), ex.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void deliver(List<PendingNotification> batch) {
+        batchSize.record(batch.size());
+        Map<String, List<PendingNotification>> byDestination = batch.stream()
+                .collect(Collectors.groupingBy(PendingNotification::destination, LinkedHashMap::new, Collectors.toList()));
+        
+        byDestination.forEach((destination, notifications) -> {
+            List<PendingNotification> latest = dropSuperseded(notifications);
+            String coalesceKey = latest.size() == 1 ? latest.get(0).coalesceKey() : null;
+            if (coalesceKey != null) {
+                messagingTemplate.convertAndSend(destination, toPayload(latest), Map.of(COALESCE_KEY_HEADER, coalesceKey));
+            } else {
+                messagingTemplate.convertAndSend(destination, toPayload(latest));
+            }
+            long now = System.nanoTime();
+            for (PendingNotification notification : notifications) {
+                lagTimer.record(now - notification.submittedNanos(), TimeUnit.NANOSECONDS);
+            }
+            sent.increment(latest.size());
+        });
+    }
+    
+    /**
+     * Keeps only the last notification per coalesce key, preserving the order of the survivors
+     */
+    private List<PendingNotification> dropSuperseded(List<PendingNotification> notifications) {
+        if (notifications.size() == 1) {
+            return notifications;
+        }
+        Map<String, PendingNotification> lastByKey = new HashMap<>();
+        for (PendingNotification notification : notifications) {
+            if (notification.coalesceKey() != null) {
+                lastByKey.put(notification.coalesceKey(), notification);
+            }
+        }
+        List<PendingNotification> latest = new ArrayList<>(notifications.size());
+        for (PendingNotification notification : notifications) {
+            if (notification.coalesceKey() == null || lastByKey.get(notification.coalesceKey()) == notification) {
+                latest.add(notification);
+            }
+        }
+        coalesced.increment(notifications.size() - latest.size());
+        return latest;
+    }
+    
+    private static NotificationPayload toPayload(List<PendingNotification> notifications) {
+        PendingNotification last = notifications.get(notifications.size() - 1);
+        if (notifications.size() == 1) {
+            return NotificationPayload.single(last.message(), last.timestamp());
+        }
+        List<String> messages = notifications.stream().map(PendingNotification::message).collect(Collectors.toList());
+        return NotificationPayload.coalesced(messages, last.timestamp());
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @Override
+    public void stop() {
+        // Worker finishes whatever is still queued, then exits
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private record PendingNotification(String destination, String coalesceKey, String message,
+                                       LocalDateTime timestamp, long submittedNanos) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.event.ClaimChangedEvent;
+import com.insurance.claims.event.ClaimsImportedEvent;
+import com.insurance.claims.event.ClaimsReviewedEvent;
+import com.insurance.claims.model.ClaimStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Turns committed claim changes into user notifications
+ * Claims scored above the risk threshold are also sent to the admins. Runs after commit, so a rolled-back transaction never notifies anyone.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+    
+    private static final int MAX_LISTED_CLAIMS = 10;
+    
+    private final NotificationService notificationService;
+    private final ClaimRiskService claimRiskService;
+    
+    @TransactionalEventListener
+    public void onClaimChanged(ClaimChangedEvent event) {
+        ClaimResponse claim = event.claim();
+        switch (event.type()) {
+            case CREATED -> {
+                notificationService.notifyUserAboutClaim(claim.getUserId(), claim.getId(),
+                        "Claim " + claim.getClaimNumber() + " created successfully");
+                if (claimRiskService.requiresReview(claim)) {
+                    notificationService.notifyAllAdmins(String.format("Claim %s flagged for review (risk %d: %s)",
+                            claim.getClaimNumber(), claim.getRiskScore(), claim.getRiskFlags()));
+                }
+            }
+            case REVIEWED -> notificationService.notifyUserAboutClaim(claim.getUserId(), claim.getId(),
+                    String.format("Claim %s status updated to: %s", claim.getClaimNumber(), claim.getStatus()));
+            case IMPORTED -> {
+                // Covered by the per-user summary in ClaimsImportedEvent
+            }
+            case BULK_REVIEWED -> {
+                // Covered by the per-user summary in ClaimsReviewedEvent
+            }
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onClaimsImported(ClaimsImportedEvent event) {
+        event.createdPerUser().forEach((userId, count) ->
+                notificationService.notifyUser(userId, count + " claims created successfully"));
+    }
+    
+    /**
+     * Published outside any transaction once the whole batch has committed
+     */
+    @EventListener
+    public void onClaimsReviewed(ClaimsReviewedEvent event) {
+        event.claimNumbersPerUser().forEach((userId, claimNumbers) ->
+                notificationService.notifyUser(userId, reviewSummary(event.status(), claimNumbers)));
+    }
+    
+    private static String reviewSummary(ClaimStatus status, List<String> claimNumbers) {
+        if (claimNumbers.size() == 1) {
+            return String.format("Claim %s status updated to: %s", claimNumbers.get(0), status);
+        }
+        String listed = String.join(", ", claimNumbers.subList(0, Math.min(MAX_LISTED_CLAIMS, claimNumbers.size())));
+        String more = claimNumbers.size() > MAX_LISTED_CLAIMS ? " and " + (claimNumbers.size() - MAX_LISTED_CLAIMS) + " more" : "";
+        return String.format("%d claims updated to %s: %s%s", claimNumbers.size(), status, listed, more);
+    }
+}
@@ -1,38 +1,52 @@
 package com.insurance.claims.service;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Service for sending real-time notifications to users via WebSocket
+ * Delivery is asynchronous: messages are handed to the NotificationDispatcher and sent
+ * from its worker thread, so callers never wait on the broker. The claims.notifications.notify
+ * timer covers that hand-off; delivery itself is timed by claims.notifications.lag.
  */
 @Service
-@RequiredArgsConstructor
 public class NotificationService {
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final Timer userTimer;
+    private final Timer claimTimer;
+    private final Timer adminTimer;
+    
+    public NotificationService(NotificationDispatcher dispatcher, MeterRegistry meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.userTimer = notifyTimer("notifyUser", meterRegistry);
+        this.claimTimer = notifyTimer("notifyUserAboutClaim", meterRegistry);
+        this.adminTimer = notifyTimer("notifyAllAdmins", meterRegistry);
+    }
     
     public void notifyUser(Long userId, String message) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("message", message);
-        notification.put("timestamp", LocalDateTime.now());
-        
         // Send notification to specific user's topic
-        messagingTemplate.convertAndSend("/topic/user/" + userId, notification);
+        userTimer.record(() -> dispatcher.submit("/topic/user/" + userId, null, message));
+    }
+    
+    /**
+     * Notification about the current state of one claim; a newer one for the same claim
+     * replaces it if it has not been delivered yet
+     */
+    public void notifyUserAboutClaim(Long userId, Long claimId, String message) {
+        claimTimer.record(() -> dispatcher.submit("/topic/user/" + userId, "claim-" + claimId, message));
     }
     
     public void notifyAllAdmins(String message) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("message", message);
-        notification.put("timestamp", LocalDateTime.now());
-        
         // Send notification to all admins
-        messagingTemplate.convertAndSend("/topic/admin", notification);
+        adminTimer.record(() -> dispatcher.submit("/topic/admin", null, message));
+    }
+    
+    private static Timer notifyTimer(String method, MeterRegistry meterRegistry) {
+        return Timer.builder("claims.notifications.notify")
+                .description("Time to hand a notification to the dispatcher")
+                .tag("method", method)
+                .register(meterRegistry);
     }
 }
-
@@ -0,0 +1,67 @@
+package com.insurance.claims.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default claim number generator: k-sortable Snowflake-style ids
+ * Layout (63 bits): 41 bits milliseconds since 2024-01-01 | 10 bits node id | 12 bits sequence,
+ * rendered as 13 Crockford base32 characters so string order matches generation order.
+ * 
+ * Lock-free: the last (timestamp, sequence) pair lives in one AtomicLong advanced by CAS.
+ * When a millisecond's sequence is exhausted, or the clock steps back, the generator borrows
+ * the next millisecond instead of blocking, so numbers stay unique and increasing.
+ */
+@Component
+public class SnowflakeClaimNumberGenerator implements ClaimNumberGenerator {
+    
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final String PREFIX = "CLM-";
+    
+    private final long nodeId;
+    private final AtomicLong lastState = new AtomicLong();
+    
+    public SnowflakeClaimNumberGenerator(@Value("${claims.claim-number.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("claims.claim-number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+    
+    @Override
+    public String nextClaimNumber() {
+        return PREFIX + encode(nextId());
+    }
+    
+    long nextId() {
+        long candidate = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            next = Math.max(previous + 1, candidate);
+        } while (!lastState.compareAndSet(previous, next));
+        
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+    
+    private static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
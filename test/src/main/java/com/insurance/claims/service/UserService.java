@@ -1,10 +1,15 @@
 package com.insurance.claims.service;
 
 import com.insurance.claims.dto.UserRequest;
+import com.insurance.claims.event.UserCreatedEvent;
 import com.insurance.claims.model.User;
 import com.insurance.claims.model.UserRole;
 import com.insurance.claims.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,14 +18,26 @@ import java.util.List;
 /**
  * Service layer for User operations
  * Contains business logic for user management
+ * 
+ * Single-user lookups are read through the usersById/usersByUsername caches. sync = true makes
+ * concurrent misses for the same key wait for one load instead of each hitting the database.
+ * Every write must evict the keys it touches; cached User instances are shared, never mutate them.
  */
 @Service
 @RequiredArgsConstructor
 public class UserService {
     
+    public static final String USERS_BY_ID_CACHE = "usersById";
+    public static final String USERS_BY_USERNAME_CACHE = "usersByUsername";
+    
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_BY_ID_CACHE, key = "#result.id"),
+            @CacheEvict(cacheNames = USERS_BY_USERNAME_CACHE, key = "#result.username")
+    })
     public User createUser(UserRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists: " + request.getUsername());
@@ -32,14 +49,18 @@ public class UserService {
         user.setFullName(request.getFullName());
         user.setRole(request.getRole());
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserCreatedEvent(saved.getId()));
+        return saved;
     }
     
+    @Cacheable(cacheNames = USERS_BY_ID_CACHE, key = "#id", sync = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
     
+    @Cacheable(cacheNames = USERS_BY_USERNAME_CACHE, key = "#username", sync = true)
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
@@ -0,0 +1,126 @@
+package com.insurance.claims.threading;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of connections checked out at once
+ * With virtual threads thousands of requests can reach the connection pool together. They would
+ * all queue inside Hikari and time out after its connectionTimeout; the fair semaphore in front
+ * of it hands out permits in arrival order and fails fast after acquireTimeout instead. A permit
+ * is held from getConnection until the connection is closed (returned to the pool).
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+    
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private Timer acquireTimer;
+    
+    public ConcurrencyLimitingDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return withPermit(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return withPermit(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+    
+    private void acquirePermit() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", ex);
+        }
+        if (acquireTimer != null) {
+            acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("Timed out after " + acquireTimeout.toMillis()
+                    + " ms waiting for one of " + maxConcurrency + " database permits");
+        }
+    }
+    
+    /**
+     * Releases the permit on the first close; later calls only reach the pool's own close
+     */
+    private Connection withPermit(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0 && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("claims.db.permits.available", permits, Semaphore::availablePermits)
+                .description("Database permits not currently held")
+                .register(registry);
+        Gauge.builder("claims.db.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database permit")
+                .register(registry);
+        acquireTimer = Timer.builder("claims.db.permits.acquire")
+                .description("Time spent waiting for a database permit")
+                .register(registry);
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+}
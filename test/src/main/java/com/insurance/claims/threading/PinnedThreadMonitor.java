@@ -0,0 +1,87 @@
+package com.insurance.claims.threading;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread
+ * A virtual thread that blocks inside a synchronized block (or native frame) cannot unmount and
+ * holds a carrier, so enough of them stall every other virtual thread. The JDK emits a
+ * jdk.VirtualThreadPinned JFR event for that; this streams those events in-process, records their
+ * duration in claims.threads.pinned and logs the stack of each distinct pinning site once.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements SmartLifecycle {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.insurance.claims.";
+    
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+    
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("claims.threads.pinned")
+                .description("Virtual threads blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(PinnedThreadMonitor::describe)
+                .orElse("unknown");
+        if (reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(32).forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, stack);
+        }
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+    
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.insurance.claims.threading;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * ThreadPoolTaskExecutor that runs every task on its own virtual thread
+ * Spring 6.0's ChannelRegistration only accepts a ThreadPoolTaskExecutor, so the STOMP channels
+ * get this subclass; the inherited pool is created but never used.
+ */
+public class VirtualThreadTaskExecutor extends ThreadPoolTaskExecutor {
+    
+    private final ExecutorService virtualThreads;
+    
+    public VirtualThreadTaskExecutor(String threadNamePrefix) {
+        this.virtualThreads = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+        setThreadNamePrefix(threadNamePrefix);
+        setCorePoolSize(1);
+        setMaxPoolSize(1);
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        virtualThreads.execute(task);
+    }
+    
+    @Override
+    @Deprecated
+    public void execute(Runnable task, long startTimeout) {
+        virtualThreads.execute(task);
+    }
+    
+    @Override
+    public Future<?> submit(Runnable task) {
+        return virtualThreads.submit(task);
+    }
+    
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return virtualThreads.submit(task);
+    }
+    
+    @Override
+    @SuppressWarnings("deprecation")
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+        virtualThreads.execute(future);
+        return future;
+    }
+    
+    @Override
+    @SuppressWarnings("deprecation")
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+        virtualThreads.execute(future);
+        return future;
+    }
+    
+    @Override
+    public void shutdown() {
+        virtualThreads.shutdown();
+        super.shutdown();
+    }
+}
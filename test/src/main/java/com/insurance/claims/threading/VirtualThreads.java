@@ -0,0 +1,84 @@
+package com.insurance.claims.threading;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads while the build still targets Java 17
+ * The Java 21 API (Thread.ofVirtual, Executors.newThreadPerTaskExecutor) is looked up reflectively,
+ * so the application compiles and runs on 17 and only the virtual thread mode needs a newer JVM.
+ */
+public final class VirtualThreads {
+    
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualType));
+            name = lookup.findVirtual(ofVirtualType, "name", MethodType.methodType(ofVirtualType, String.class, long.class));
+            factory = lookup.findVirtual(builderType, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // Java 19/20 have the API as a preview feature; it throws unless --enable-preview is set
+            ofVirtual.invoke();
+        } catch (Throwable ex) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+    
+    private VirtualThreads() {
+    }
+    
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+    
+    /**
+     * Factory for virtual threads named prefix0, prefix1, ...
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        requireSupported();
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), prefix, 0L));
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to create virtual thread factory: " + ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Executor that starts a new virtual thread for every task
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory threadFactory = threadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to create virtual thread executor: " + ex.getMessage(), ex);
+        }
+    }
+    
+    public static void requireSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("claims.threads.mode=virtual requires Java 21 or later, but this JVM is "
+                    + Runtime.version() + ". Run on Java 21+ or set claims.threads.mode=platform.");
+        }
+    }
+}
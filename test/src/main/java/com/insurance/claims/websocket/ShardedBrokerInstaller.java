@@ -0,0 +1,38 @@
+package com.insurance.claims.websocket;
+
+import com.insurance.claims.config.WebSocketProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Swaps the simple broker's subscription registry for a ShardedSubscriptionRegistry
+ * Runs once all singletons exist, before the broker is started by the lifecycle processor.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "claims.websocket.broker-mode", havingValue = "sharded")
+public class ShardedBrokerInstaller implements SmartInitializingSingleton {
+    
+    private final AbstractBrokerMessageHandler brokerMessageHandler;
+    private final WebSocketProperties properties;
+    
+    public ShardedBrokerInstaller(@Qualifier("simpleBrokerMessageHandler") AbstractBrokerMessageHandler brokerMessageHandler,
+                                  WebSocketProperties properties) {
+        this.brokerMessageHandler = brokerMessageHandler;
+        this.properties = properties;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (brokerMessageHandler instanceof SimpleBrokerMessageHandler simpleBroker) {
+            int shards = properties.getShards() > 0 ? properties.getShards() : Runtime.getRuntime().availableProcessors();
+            simpleBroker.setSubscriptionRegistry(new ShardedSubscriptionRegistry(shards));
+            log.info("STOMP broker running in sharded mode with {} subscription shards", shards);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.insurance.claims.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Subscription registry split into independent shards by destination hash
+ * Each shard is a DefaultSubscriptionRegistry with its own destination cache, so lookups and
+ * subscribe/unsubscribe churn for /topic/user/{id} spread over several smaller structures
+ * instead of one. Pattern subscriptions can match any destination and live in a dedicated
+ * shard that is consulted on every lookup.
+ */
+public class ShardedSubscriptionRegistry implements SubscriptionRegistry {
+    
+    private final DefaultSubscriptionRegistry[] shards;
+    private final DefaultSubscriptionRegistry patternShard = new DefaultSubscriptionRegistry();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    
+    // sessionId -> (subscriptionId -> shard) so unsubscribe frames, which carry no destination, find their shard
+    private final Map<String, Map<String, DefaultSubscriptionRegistry>> sessions = new ConcurrentHashMap<>();
+    
+    public ShardedSubscriptionRegistry(int shardCount) {
+        this.shards = new DefaultSubscriptionRegistry[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new DefaultSubscriptionRegistry();
+        }
+    }
+    
+    @Override
+    public void registerSubscription(Message<?> subscribeMessage) {
+        String destination = SimpMessageHeaderAccessor.getDestination(subscribeMessage.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(subscribeMessage.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(subscribeMessage.getHeaders());
+        if (destination == null || sessionId == null || subscriptionId == null) {
+            return;
+        }
+        DefaultSubscriptionRegistry shard = pathMatcher.isPattern(destination) ? patternShard : shardFor(destination);
+        shard.registerSubscription(subscribeMessage);
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, shard);
+    }
+    
+    @Override
+    public void unregisterSubscription(Message<?> unsubscribeMessage) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(unsubscribeMessage.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(unsubscribeMessage.getHeaders());
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, DefaultSubscriptionRegistry> subscriptions = sessions.get(sessionId);
+        DefaultSubscriptionRegistry shard = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+        if (shard != null) {
+            shard.unregisterSubscription(unsubscribeMessage);
+        }
+    }
+    
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, DefaultSubscriptionRegistry> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().stream().distinct().forEach(shard -> shard.unregisterAllSubscriptions(sessionId));
+        }
+    }
+    
+    @Override
+    public MultiValueMap<String, String> findSubscriptions(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return new LinkedMultiValueMap<>();
+        }
+        MultiValueMap<String, String> result = shardFor(destination).findSubscriptions(message);
+        MultiValueMap<String, String> patternMatches = patternShard.findSubscriptions(message);
+        if (patternMatches.isEmpty()) {
+            return result;
+        }
+        // Shard results may be cached, unmodifiable views, so merge into a fresh map
+        MultiValueMap<String, String> merged = new LinkedMultiValueMap<>();
+        result.forEach(merged::addAll);
+        patternMatches.forEach(merged::addAll);
+        return merged;
+    }
+    
+    private DefaultSubscriptionRegistry shardFor(String destination) {
+        return shards[Math.floorMod(destination.hashCode(), shards.length)];
+    }
+}
@@ -0,0 +1,173 @@
+package com.insurance.claims.websocket;
+
+import com.insurance.claims.service.NotificationDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-session backpressure on the client outbound channel
+ * Counts MESSAGE frames queued for each session between send and hand-off to the socket:
+ * - above sessionQueueLimit, new frames for that session are dropped
+ * - after evictAfterDrops consecutive drops the session is closed as not reliable
+ * - a frame tagged with a coalesce key is skipped when a newer frame with the same key is
+ *   already queued for the session, so a lagging client only receives the latest claim state
+ * Sessions closed by Spring's own send-buffer/time limits are counted as evictions as well.
+ */
+@Slf4j
+public class SlowConsumerGuard implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+    
+    private final int sessionQueueLimit;
+    private final int evictAfterDrops;
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter evicted;
+    
+    public SlowConsumerGuard(int sessionQueueLimit, int evictAfterDrops, MeterRegistry meterRegistry) {
+        this.sessionQueueLimit = sessionQueueLimit;
+        this.evictAfterDrops = evictAfterDrops;
+        this.dropped = Counter.builder("claims.websocket.slow.dropped")
+                .description("Frames dropped because a session's outbound queue was full")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("claims.websocket.slow.coalesced")
+                .description("Frames skipped because a newer state for the same key was queued")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("claims.websocket.slow.evicted")
+                .description("Sessions closed for not keeping up")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SessionState state = stateFor(message);
+        if (state == null) {
+            return message;
+        }
+        if (state.pending.incrementAndGet() > sessionQueueLimit) {
+            state.pending.decrementAndGet();
+            dropped.increment();
+            if (state.consecutiveDrops.incrementAndGet() >= evictAfterDrops) {
+                evict(state);
+            }
+            return null;
+        }
+        state.consecutiveDrops.set(0);
+        String key = coalesceKey(message);
+        if (key != null) {
+            state.latestByKey.put(key, message);
+        }
+        return message;
+    }
+    
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        SessionState state = stateFor(message);
+        if (state == null) {
+            return message;
+        }
+        String key = coalesceKey(message);
+        if (key != null && state.latestByKey.get(key) != message) {
+            // Superseded while queued; afterMessageHandled is not invoked for skipped messages
+            state.pending.decrementAndGet();
+            coalesced.increment();
+            return null;
+        }
+        return message;
+    }
+    
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SessionState state = stateFor(message);
+        if (state == null) {
+            return;
+        }
+        state.pending.decrementAndGet();
+        String key = coalesceKey(message);
+        if (key != null) {
+            state.latestByKey.remove(key, message);
+        }
+    }
+    
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), new SessionState(session));
+                super.afterConnectionEstablished(session);
+            }
+            
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionState state = sessions.remove(session.getId());
+                // SESSION_NOT_RELIABLE is what Spring uses when send buffer or time limits are exceeded
+                if (state != null && !state.evicted && CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    evicted.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+    
+    private void evict(SessionState state) {
+        if (state.evicted) {
+            return;
+        }
+        state.evicted = true;
+        evicted.increment();
+        log.warn("Closing slow WebSocket session {} after {} dropped frames", state.session.getId(), evictAfterDrops);
+        try {
+            state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException ex) {
+            log.debug("Failed to close session {}: {}", state.session.getId(), ex.getMessage());
+        }
+    }
+    
+    private SessionState stateFor(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+    
+    /**
+     * Scoped to the subscription: a session subscribed twice to matching destinations gets each copy
+     */
+    private static String coalesceKey(Message<?> message) {
+        String key = NativeMessageHeaderAccessor.getFirstNativeHeader(NotificationDispatcher.COALESCE_KEY_HEADER, message.getHeaders());
+        return key != null ? SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()) + "/" + key : null;
+    }
+    
+    private static final class SessionState {
+        
+        private final WebSocketSession session;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger consecutiveDrops = new AtomicInteger();
+        private final Map<String, Message<?>> latestByKey = new ConcurrentHashMap<>();
+        private volatile boolean evicted;
+        
+        private SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
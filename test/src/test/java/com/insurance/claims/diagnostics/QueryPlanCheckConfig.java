@@ -0,0 +1,17 @@
+package com.insurance.claims.diagnostics;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Wiring for QueryPlanCheckTest: lets it see the SQL behind each repository method
+ * StatementInspector beans are installed into Hibernate by MetricsConfig.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryPlanCheckConfig {
+    
+    @Bean
+    public StatementCapture statementCapture() {
+        return new StatementCapture();
+    }
+}
@@ -0,0 +1,219 @@
+package com.insurance.claims.diagnostics;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.User;
+import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression check, tagged plan-check and run by the plan-check Maven profile
+ * Loads claims.plan-check.rows synthetic claims into H2, then for every query method declared on
+ * ClaimRepository captures the SQL Hibernate sends, runs EXPLAIN on it and fails if a plan falls
+ * back to a table scan. Bounded queries are also timed and must stay within the latency budget
+ * (median of several runs). Unbounded legacy queries are explained but not executed.
+ * Each repository method is reported as its own test, as is any method left without a check.
+ */
+@Slf4j
+@Tag("plan-check")
+@SpringBootTest
+@ActiveProfiles("plan-check")
+@Import(QueryPlanCheckConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanCheckTest {
+    
+    private static final int TIMED_RUNS = 7;
+    private static final String TABLE_SCAN = ".tableScan";
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StatementCapture statementCapture;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${claims.plan-check.rows:1000000}")
+    private int rows;
+    
+    @Value("${claims.plan-check.users:10000}")
+    private int users;
+    
+    @Value("${claims.plan-check.budget-ms:50}")
+    private long budgetMillis;
+    
+    @BeforeAll
+    void seed() {
+        new SyntheticDataSeeder(jdbcTemplate).seed(rows, users);
+    }
+    
+    @TestFactory
+    Stream<DynamicTest> queryPlans() {
+        List<Check> checks = checks();
+        return Stream.concat(
+                Stream.of(DynamicTest.dynamicTest("every query method has a check",
+                        () -> assertThat(uncovered(checks)).isEmpty())),
+                checks.stream().map(check -> DynamicTest.dynamicTest(check.name(),
+                        () -> assertThat(verify(check)).isEmpty())));
+    }
+    
+    private List<Check> checks() {
+        ClaimResponse probe = claimRepository.findResponseByClaimNumber(SyntheticDataSeeder.syntheticClaimNumber(rows / 2))
+                .orElseThrow(() -> new IllegalStateException("Synthetic claims missing"));
+        User owner = userRepository.findById(probe.getUserId()).orElseThrow();
+        Long id = probe.getId();
+        String number = probe.getClaimNumber();
+        ClaimStatus status = probe.getStatus();
+        LocalDateTime createdAt = probe.getCreatedAt();
+        Pageable page = PageRequest.of(0, 51);
+        Set<ClaimStatus> closed = Set.of(ClaimStatus.APPROVED, ClaimStatus.REJECTED);
+        
+        return List.of(
+                Check.timed("findResponseById", () -> claimRepository.findResponseById(id)),
+                Check.timed("findResponseByClaimNumber", () -> claimRepository.findResponseByClaimNumber(number)),
+                Check.timed("findResponsesByIdIn", () -> claimRepository.findResponsesByIdIn(
+                        LongStream.range(id, id + 50).boxed().collect(Collectors.toList()))),
+                Check.timed("findByClaimNumber", () -> claimRepository.findByClaimNumber(number)),
+                Check.timed("findByUser", () -> claimRepository.findByUser(owner)),
+                Check.timed("findByUserOrderByCreatedAtDesc", () -> claimRepository.findByUserOrderByCreatedAtDesc(owner)),
+                Check.explainOnly("findByStatus", () -> claimRepository.findByStatus(status)),
+                Check.explainOnly("findAllByOrderByCreatedAtDesc", claimRepository::findAllByOrderByCreatedAtDesc),
+                Check.timed("findFirstPage", () -> claimRepository.findFirstPage(page)),
+                Check.timed("findPageAfter", () -> claimRepository.findPageAfter(createdAt, id, page)),
+                Check.timed("findFirstPageByUser", () -> claimRepository.findFirstPageByUser(owner.getId(), page)),
+                Check.timed("findPageByUserAfter", () -> claimRepository.findPageByUserAfter(owner.getId(), createdAt, id, page)),
+                Check.timed("findFirstPageByStatus", () -> claimRepository.findFirstPageByStatus(status, page)),
+                Check.timed("findPageByStatusAfter", () -> claimRepository.findPageByStatusAfter(status, createdAt, id, page)),
+                Check.timed("reviewIfCurrent", () -> transactionTemplate.executeWithoutResult(tx -> {
+                    claimRepository.reviewIfCurrent(id, probe.getVersion(), ClaimStatus.predecessorsOf(ClaimStatus.REJECTED),
+                            ClaimStatus.REJECTED, "plan check", owner, LocalDateTime.now(), LocalDateTime.now());
+                    tx.setRollbackOnly();
+                })),
+                Check.timed("reviewAllIfCurrent", () -> transactionTemplate.executeWithoutResult(tx -> {
+                    claimRepository.reviewAllIfCurrent(LongStream.range(id, id + 50).boxed().collect(Collectors.toList()),
+                            status, ClaimStatus.REJECTED, "plan check", owner, LocalDateTime.now(), LocalDateTime.now());
+                    tx.setRollbackOnly();
+                })),
+                Check.timed("lockStatusesByIdIn", () -> transactionTemplate.executeWithoutResult(tx -> {
+                    claimRepository.lockStatusesByIdIn(LongStream.range(id, id + 50).boxed().collect(Collectors.toList()));
+                    tx.setRollbackOnly();
+                })),
+                Check.timed("findIdsByStatusCreatedUpTo", () -> claimRepository.findIdsByStatusCreatedUpTo(status, createdAt,
+                        PageRequest.of(0, 500))),
+                Check.timed("findClosedBefore", () -> claimRepository.findClosedBefore(createdAt,
+                        PageRequest.of(0, 500))),
+                Check.timed("deleteByIdInAndStatusIn", () -> transactionTemplate.executeWithoutResult(tx -> {
+                    claimRepository.deleteByIdInAndStatusIn(LongStream.range(id, id + 50).boxed().collect(Collectors.toList()), closed);
+                    tx.setRollbackOnly();
+                })),
+                // Reads every claim by design (statistics rebuild and reconciliation only)
+                Check.explainOnly("aggregateByUserAndStatus", claimRepository::aggregateByUserAndStatus).allowingScan()
+        );
+    }
+    
+    /**
+     * A query method added to ClaimRepository without a check here is a failure too
+     */
+    private static List<String> uncovered(List<Check> checks) {
+        Set<String> checked = checks.stream().map(Check::name).collect(Collectors.toSet());
+        Set<String> declared = Arrays.stream(ClaimRepository.class.getDeclaredMethods())
+                .filter(method -> !Modifier.isStatic(method.getModifiers()) && !method.isDefault())
+                .map(Method::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        declared.removeAll(checked);
+        return declared.stream().map(name -> name + ": no plan check").collect(Collectors.toList());
+    }
+    
+    private List<String> verify(Check check) {
+        List<String> failures = new ArrayList<>();
+        List<String> statements;
+        long medianNanos = -1;
+        if (check.timed()) {
+            statements = statementCapture.capture(check.action());
+            long[] samples = new long[TIMED_RUNS];
+            for (int i = 0; i < TIMED_RUNS; i++) {
+                long start = System.nanoTime();
+                check.action().run();
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            medianNanos = samples[TIMED_RUNS / 2];
+        } else {
+            statements = statementCapture.captureFirst(check.action());
+        }
+        
+        if (statements.isEmpty()) {
+            failures.add(check.name() + ": no SQL captured");
+        }
+        for (String sql : new LinkedHashSet<>(statements)) {
+            String plan = explain(sql);
+            log.debug("Plan for {}:\n{}", check.name(), plan);
+            if (!check.scanAllowed() && plan.contains(TABLE_SCAN)) {
+                failures.add(check.name() + ": table scan in plan\n" + plan);
+            }
+        }
+        if (medianNanos > budgetMillis * 1_000_000) {
+            failures.add(String.format("%s: median %.2f ms exceeds budget of %d ms",
+                    check.name(), medianNanos / 1_000_000d, budgetMillis));
+        }
+        log.info(String.format("%-32s %10s  %d statement(s)", check.name(),
+                medianNanos >= 0 ? String.format("%.2f ms", medianNanos / 1_000_000d) : "explained", statements.size()));
+        return failures;
+    }
+    
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+    
+    private record Check(String name, Runnable action, boolean timed, boolean scanAllowed) {
+        
+        static Check timed(String name, Runnable action) {
+            return new Check(name, action, true, false);
+        }
+        
+        static Check explainOnly(String name, Runnable action) {
+            return new Check(name, action, false, false);
+        }
+        
+        Check allowingScan() {
+            return new Check(name, action, timed, true);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.insurance.claims.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector that records the SQL issued by the current thread while capturing
+ * In abort mode the first statement is recorded and then cancelled, so queries whose result
+ * would be too large to load can still be inspected.
+ */
+public class StatementCapture implements StatementInspector {
+    
+    private final ThreadLocal<Capture> current = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        Capture capture = current.get();
+        if (capture != null) {
+            capture.statements.add(sql);
+            if (capture.abort) {
+                throw new CapturedStatement();
+            }
+        }
+        return sql;
+    }
+    
+    /**
+     * Runs the action and returns every statement it sent
+     */
+    public List<String> capture(Runnable action) {
+        return run(action, false);
+    }
+    
+    /**
+     * Returns the first statement the action sends without executing it
+     */
+    public List<String> captureFirst(Runnable action) {
+        return run(action, true);
+    }
+    
+    private List<String> run(Runnable action, boolean abort) {
+        Capture capture = new Capture(abort);
+        current.set(capture);
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            if (!abort || !isCaptured(ex)) {
+                throw ex;
+            }
+        } finally {
+            current.remove();
+        }
+        return capture.statements;
+    }
+    
+    private static boolean isCaptured(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CapturedStatement) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class Capture {
+        
+        private final boolean abort;
+        private final List<String> statements = new ArrayList<>();
+        
+        private Capture(boolean abort) {
+            this.abort = abort;
+        }
+    }
+    
+    private static final class CapturedStatement extends RuntimeException {
+        
+        private CapturedStatement() {
+            super("Statement captured", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.insurance.claims.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk-loads synthetic users and claims with set-based H2 statements
+ * Used by QueryPlanCheckTest and, through the test jar, the benchmarks. Claim n gets claim number
+ * syntheticClaimNumber(n), is n seconds old, belongs to one of the seeded users and cycles through all statuses.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SyntheticDataSeeder {
+    
+    private static final int CHUNK = 100_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Seeds until the claims table holds at least the given number of rows; returns the first seeded user id
+     */
+    public Long seed(int claims, int users) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claims", Long.class);
+        Long firstUserId = firstUserId();
+        if (existing != null && existing >= claims && firstUserId != null) {
+            return firstUserId;
+        }
+        long start = System.nanoTime();
+        if (firstUserId == null) {
+            jdbcTemplate.update("INSERT INTO users (username, email, full_name, role, created_at) "
+                    + "SELECT 'synthetic_' || X, 'synthetic_' || X || '@example.com', 'Synthetic User ' || X, 'USER', LOCALTIMESTAMP "
+                    + "FROM SYSTEM_RANGE(1, ?)", users);
+            firstUserId = firstUserId();
+        }
+        
+        for (long from = 1; from <= claims; from += CHUNK) {
+            long to = Math.min(claims, from + CHUNK - 1);
+            jdbcTemplate.update("INSERT INTO claims (id, claim_number, description, claim_amount, status, user_id, created_at, closed_at, version) "
+                    + "SELECT NEXT VALUE FOR claims_seq, 'SYN-' || LPAD(CAST(X AS VARCHAR), 16, '0'), 'Synthetic claim ' || X, "
+                    + "MOD(X, 100000) / 100.0 + 1, "
+                    + "CASE MOD(X, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'APPROVED' ELSE 'REJECTED' END, "
+                    + "? + MOD(X * 7919, ?), DATEADD(SECOND, -X, LOCALTIMESTAMP), "
+                    + "CASE WHEN MOD(X, 4) >= 2 THEN DATEADD(SECOND, -X, LOCALTIMESTAMP) END, 0 "
+                    + "FROM SYSTEM_RANGE(?, ?)", firstUserId, users, from, to);
+        }
+        // Refresh selectivity statistics so the optimizer sees the real distribution
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Seeded {} claims for {} users in {} ms", claims, users, (System.nanoTime() - start) / 1_000_000);
+        return firstUserId;
+    }
+    
+    public static String syntheticClaimNumber(long n) {
+        return String.format("SYN-%016d", n);
+    }
+    
+    private Long firstUserId() {
+        return jdbcTemplate.query("SELECT id FROM users WHERE username = 'synthetic_1'",
+                rs -> rs.next() ? rs.getLong(1) : null);
+    }
+}
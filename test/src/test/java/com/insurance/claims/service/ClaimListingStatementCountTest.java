@@ -0,0 +1,158 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.dto.ClaimCursor;
+import com.insurance.claims.dto.ClaimPageResponse;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.model.Claim;
+import com.insurance.claims.model.ClaimStatus;
+import com.insurance.claims.model.User;
+import com.insurance.claims.model.UserRole;
+import com.insurance.claims.repository.ClaimRepository;
+import com.insurance.claims.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claim listings on the database read path issue the same statements whatever the number of
+ * claims, owners and reviewers on the page: one joined select per listing (plus the owner lookup
+ * for a user's claims), never one per user. The read model is off so every listing reaches the
+ * database.
+ */
+@SpringBootTest(properties = {
+        "claims.read-model.enabled=false",
+        "claims.archive.enabled=false",
+        "claims.archive.directory=target/test-claims-archive",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+class ClaimListingStatementCountTest {
+    
+    private static final int SMALL = 3;
+    private static final int LARGE = 120;
+    
+    @Autowired
+    private ClaimService claimService;
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+    
+    @Test
+    void listingStatementCountDoesNotGrowWithClaims() {
+        Map<String, Long> small = statementsPerListing(seed("small", SMALL));
+        Map<String, Long> large = statementsPerListing(seed("large", LARGE));
+        
+        assertThat(large).isEqualTo(small);
+        assertThat(small).containsEntry("all", 1L)
+                .containsEntry("all, next page", 1L)
+                .containsEntry("by user", 2L)
+                .containsEntry("by user, next page", 2L)
+                .containsEntry("by status", 1L)
+                .containsEntry("by status, next page", 1L)
+                .containsEntry("by ids", 1L);
+    }
+    
+    private Map<String, Long> statementsPerListing(Round round) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("all", count(() -> claimService.getAllClaims(null, null)));
+        counts.put("all, next page", count(() -> claimService.getAllClaims(round.cursor(), null)));
+        counts.put("by user", count(() -> claimService.getClaimsByUser(round.ownerId(), null, null)));
+        counts.put("by user, next page", count(() -> claimService.getClaimsByUser(round.ownerId(), round.cursor(), null)));
+        counts.put("by status", count(() -> claimService.getClaimsByStatus(ClaimStatus.APPROVED, null, null)));
+        counts.put("by status, next page", count(() -> claimService.getClaimsByStatus(ClaimStatus.APPROVED, round.cursor(), null)));
+        counts.put("by ids", count(() -> claimRepository.findResponsesByIdIn(round.claimIds())));
+        return counts;
+    }
+    
+    /**
+     * Statements prepared by the call, starting from empty user caches
+     */
+    private long count(Supplier<?> listing) {
+        cacheManager.getCacheNames().stream().map(cacheManager::getCache).forEach(Cache::clear);
+        statistics.clear();
+        Object result = listing.get();
+        long statements = statistics.getPrepareStatementCount();
+        if (result instanceof ClaimPageResponse page) {
+            assertThat(page.getClaims()).isNotEmpty();
+        }
+        return statements;
+    }
+    
+    /**
+     * One owner holding the given number of approved claims, each reviewed by its own admin, so a
+     * page names as many distinct users as it holds claims
+     */
+    private Round seed(String prefix, int claims) {
+        User owner = userRepository.save(user(prefix + "_owner", UserRole.USER));
+        List<User> reviewers = new ArrayList<>();
+        for (int i = 0; i < claims; i++) {
+            reviewers.add(user(prefix + "_admin_" + i, UserRole.ADMIN));
+        }
+        reviewers = userRepository.saveAll(reviewers);
+        
+        List<Claim> seeded = new ArrayList<>();
+        for (int i = 0; i < claims; i++) {
+            Claim claim = new Claim();
+            claim.setClaimNumber(String.format("%s-%05d", prefix.toUpperCase(), i));
+            claim.setDescription("Statement count claim " + i);
+            claim.setClaimAmount(new BigDecimal("100.00"));
+            claim.setStatus(ClaimStatus.APPROVED);
+            claim.setUser(owner);
+            claim.setReviewedBy(reviewers.get(i));
+            claim.setReviewComments("Approved");
+            claim.setReviewedAt(LocalDateTime.now());
+            seeded.add(claim);
+        }
+        List<Long> ids = claimRepository.saveAll(seeded).stream().map(Claim::getId).collect(Collectors.toList());
+        
+        // Cursor at the oldest claim of the round but one, so the next page holds at least one claim
+        ClaimResponse anchor = claimRepository.findResponseById(ids.get(Math.min(1, ids.size() - 1))).orElseThrow();
+        return new Round(owner.getId(), ids, ClaimCursor.of(anchor).encode());
+    }
+    
+    private static User user(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFullName(username.replace('_', ' '));
+        user.setRole(role);
+        return user;
+    }
+    
+    private record Round(Long ownerId, List<Long> claimIds, String cursor) {
+    }
+}